@@ -5,24 +5,24 @@ import lombok.RequiredArgsConstructor;
 import java.util.List;
 
 @RequiredArgsConstructor
-public abstract class AbstractDominatorsFinder<P> implements IDominatorsFinder<P> {
-    protected final Graph<P> graph;
-    protected final Vertex<P> startVertex;
-    protected final Vertex<P> exitVertex;
+public abstract class AbstractDominatorsFinder implements IDominatorsFinder {
+    protected final Graph graph;
+    protected final Vertex startVertex;
+    protected final Vertex exitVertex;
 
-    protected final boolean isExitVertex(Vertex<P> vertex) {
+    protected final boolean isExitVertex(Vertex vertex) {
         return vertex == exitVertex;
     }
 
-    protected final boolean isStartVertex(Vertex<P> vertex) {
+    protected final boolean isStartVertex(Vertex vertex) {
         return vertex == startVertex;
     }
 
     /** NB: according to task description the start vertex should *not* be present in the result,
      so we explicitly skip it. */
-    protected final void filterOutStartVertex(List<Vertex<P>> allDominators) {
+    protected final void filterOutStartVertex(List<Vertex> allDominators) {
         assert allDominators.size() > 0;
-        Vertex<P> first = allDominators.remove(0);
+        Vertex first = allDominators.remove(0);
         assert isStartVertex(first);
     }
 }
@@ -1,9 +1,12 @@
 package edu.dominatorsfinder;
 
-public abstract class AbstractFinderFactory<Payload> {
+public abstract class AbstractFinderFactory {
 
-    public abstract GraphBuilder<Payload> createGraphBuilder();
+    /** NB: the Graph carries no algorithm data, so a Graph built once can be passed to the finders of any factory. */
+    public GraphBuilder createGraphBuilder() {
+        return new GraphBuilder();
+    }
 
-    public abstract IDominatorsFinder<Payload> createFinder(Graph<Payload> graph, Vertex<Payload> startVertex, Vertex<Payload> exitVertex);
+    public abstract IDominatorsFinder createFinder(Graph graph, Vertex startVertex, Vertex exitVertex);
 
 }
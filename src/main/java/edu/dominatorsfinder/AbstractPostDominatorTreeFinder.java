@@ -0,0 +1,37 @@
+package edu.dominatorsfinder;
+
+import java.util.List;
+
+/**
+ * Base class for the finders that compute the immediate post-dominator of every vertex w.r.t. the exit vertex
+ * (that is, the dominator tree of the reversed graph rooted at the exit vertex).
+ * The dominators of the start vertex are then obtained by walking up the tree from the start vertex.
+ */
+public abstract class AbstractPostDominatorTreeFinder extends AbstractDominatorsFinder {
+
+    /** Marks the root of the tree, and the vertices that cannot reach the exit vertex. */
+    public static final int NO_VERTEX = -1;
+
+    protected AbstractPostDominatorTreeFinder(Graph graph, Vertex startVertex, Vertex exitVertex) {
+        super(graph, startVertex, exitVertex);
+    }
+
+    /**
+     * @return Array of the immediate post-dominator vertex ids indexed by vertex id.
+     * The value is {@link #NO_VERTEX} for the exit vertex and for the vertices the exit vertex is unreachable from.
+     */
+    protected abstract int[] computeImmediatePostDominators();
+
+    /** Computes the post-dominator tree of the whole graph; the start vertex is not used. */
+    public PostDominatorTree computePostDominatorTree() {
+        return new PostDominatorTree(graph, exitVertex, computeImmediatePostDominators());
+    }
+
+    @Override
+    public List<Vertex> computeDominators() {
+        if (startVertex == exitVertex) {
+            return List.of(); // shortcut for trivial case
+        }
+        return computePostDominatorTree().dominatorsOf(startVertex);
+    }
+}
@@ -0,0 +1,23 @@
+package edu.dominatorsfinder;
+
+/**
+ * Factory of the finders based on the post-dominator tree; besides the single (start, exit) queries
+ * it can build the whole tree to answer the queries for any start vertex.
+ */
+public abstract class AbstractPostDominatorTreeFinderFactory extends AbstractFinderFactory {
+
+    /** The post-dominator tree finders traverse the reversed graph, so the predecessor lists are built with the Graph. */
+    @Override
+    public GraphBuilder createGraphBuilder() {
+        return super.createGraphBuilder().withReverseAdjacency();
+    }
+
+    @Override
+    public abstract AbstractPostDominatorTreeFinder createFinder(Graph graph, Vertex startVertex, Vertex exitVertex);
+
+    /** Computes the post-dominator tree of the whole graph w.r.t. the given exit vertex. */
+    public PostDominatorTree createPostDominatorTree(Graph graph, Vertex exitVertex) {
+        // NB: the tree does not depend on the start vertex, so the exit vertex is passed as the start:
+        return createFinder(graph, exitVertex, exitVertex).computePostDominatorTree();
+    }
+}
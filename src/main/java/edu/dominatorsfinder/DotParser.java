@@ -0,0 +1,382 @@
+package edu.dominatorsfinder;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Single-pass hand-written parser of the DOT subset we actually receive:
+ * <pre>
+ *   [strict] digraph [ID] { stmt [;] ... }
+ *   stmt: ID [attr_list] | ID -> ID [-> ID ...] [attr_list] | (graph|node|edge) attr_list | ID = ID
+ * </pre>
+ * IDs may be identifiers, numerals or double-quoted strings; attributes and comments are skipped.
+ * Vertices are numbered in the order of their first appearance, edges are collected into two parallel int arrays,
+ * so no per-edge objects are created.
+ * <p>
+ * Anything outside the subset (subgraphs, ports, HTML strings, undirected graphs, ...) and any malformed input is
+ * reported with {@link UnsupportedSyntaxException}: the caller is expected to fall back to the full-blown JGraphT
+ * importer, which gives the final verdict on the input.
+ */
+final class DotParser {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final int EOF = -1;
+
+    private enum Token { ID, EDGE_OP, LEFT_BRACE, RIGHT_BRACE, LEFT_BRACKET, RIGHT_BRACKET, SEMICOLON, COMMA, EQUALS, END }
+
+    /**
+     * Parsing result.
+     * @param keys Vertex keys in the order of first appearance; the index in this array is the vertex index.
+     * @param sources Edge source vertex indices, only first {@code numberOfEdges} elements are meaningful.
+     * @param targets Edge target vertex indices, only first {@code numberOfEdges} elements are meaningful.
+     * @param numberOfEdges Number of parsed edges, including duplicates.
+     * @param fingerprint Fingerprint of the graph, computed along with parsing; duplicate edges are counted once.
+     */
+    record ParsedGraph(String[] keys, int[] sources, int[] targets, int numberOfEdges, GraphFingerprint fingerprint) {
+        int numberOfVertices() {
+            return keys.length;
+        }
+    }
+
+    /** Thrown when the input is not in the supported DOT subset. */
+    static class UnsupportedSyntaxException extends IllegalArgumentException {
+        UnsupportedSyntaxException(String message) {
+            super(message);
+        }
+    }
+
+    private final Reader reader;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private int line = 1;
+
+    private Token token;
+    private boolean quotedToken;
+    private final StringBuilder tokenText = new StringBuilder();
+
+    private final Map<String, Integer> indexByKey = new HashMap<>();
+    private final List<String> keys = new ArrayList<>();
+    private int[] sources = new int[64];
+    private int[] targets = new int[64];
+    private int numberOfEdges;
+    private final GraphFingerprint.Accumulator fingerprint = new GraphFingerprint.Accumulator();
+
+    private DotParser(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Parses the graph from the {@code reader}. The reader is consumed, but not closed.
+     * @throws UnsupportedSyntaxException if the input is not in the supported DOT subset.
+     */
+    static ParsedGraph parse(Reader reader) {
+        return new DotParser(reader).parseGraph();
+    }
+
+    private ParsedGraph parseGraph() {
+        nextToken();
+        if (isKeyword("strict")) {
+            nextToken();
+        }
+        if (!isKeyword("digraph")) {
+            throw unsupported("'digraph' expected");
+        }
+        nextToken();
+        if (token == Token.ID) {
+            nextToken(); // graph name
+        }
+        expect(Token.LEFT_BRACE);
+        nextToken();
+        while (token != Token.RIGHT_BRACE) {
+            parseStatement();
+        }
+        nextToken();
+        expect(Token.END);
+        return new ParsedGraph(keys.toArray(new String[0]), sources, targets, numberOfEdges,
+                fingerprint.toFingerprint(sources, targets, numberOfEdges));
+    }
+
+    private void parseStatement() {
+        switch (token) {
+            case SEMICOLON -> nextToken();
+            case ID -> {
+                if (isKeyword("graph") || isKeyword("node") || isKeyword("edge")) {
+                    nextToken();
+                    expect(Token.LEFT_BRACKET);
+                    skipAttributeLists();
+                } else if (isKeyword("subgraph")) {
+                    throw unsupported("subgraphs are not supported");
+                } else {
+                    final String key = tokenText.toString();
+                    nextToken();
+                    if (token == Token.EQUALS) {
+                        // graph attribute assignment "ID = ID":
+                        nextToken();
+                        expect(Token.ID);
+                        nextToken();
+                    } else {
+                        parseNodeOrEdgeStatement(vertexIndex(key));
+                    }
+                }
+            }
+            default -> throw unsupported("unexpected " + token);
+        }
+    }
+
+    private void parseNodeOrEdgeStatement(int sourceIndex) {
+        while (token == Token.EDGE_OP) {
+            nextToken();
+            expect(Token.ID);
+            final int targetIndex = vertexIndex(tokenText.toString());
+            addEdge(sourceIndex, targetIndex);
+            sourceIndex = targetIndex;
+            nextToken();
+        }
+        skipAttributeLists();
+    }
+
+    private void skipAttributeLists() {
+        while (token == Token.LEFT_BRACKET) {
+            nextToken();
+            while (token != Token.RIGHT_BRACKET) {
+                switch (token) {
+                    case ID, EQUALS, COMMA, SEMICOLON -> nextToken();
+                    default -> throw unsupported("unexpected " + token + " in attribute list");
+                }
+            }
+            nextToken();
+        }
+    }
+
+    private int vertexIndex(String key) {
+        Integer index = indexByKey.get(key);
+        if (index == null) {
+            index = keys.size();
+            keys.add(key);
+            indexByKey.put(key, index);
+            fingerprint.addVertex(key);
+        }
+        return index;
+    }
+
+    private void addEdge(int source, int target) {
+        if (numberOfEdges == sources.length) {
+            sources = Arrays.copyOf(sources, numberOfEdges * 2);
+            targets = Arrays.copyOf(targets, numberOfEdges * 2);
+        }
+        sources[numberOfEdges] = source;
+        targets[numberOfEdges] = target;
+        numberOfEdges++;
+    }
+
+    private boolean isKeyword(String keyword) {
+        if (token != Token.ID || quotedToken || tokenText.length() != keyword.length()) {
+            return false;
+        }
+        for (int i = 0; i < keyword.length(); i++) {
+            if (Character.toLowerCase(tokenText.charAt(i)) != keyword.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void expect(Token expected) {
+        if (token != expected) {
+            throw unsupported(expected + " expected, but " + token + " found");
+        }
+    }
+
+    private UnsupportedSyntaxException unsupported(String message) {
+        return new UnsupportedSyntaxException("Unsupported DOT syntax at line " + line + ": " + message);
+    }
+
+    // ------------------------------------------------- Lexer -------------------------------------------------
+
+    private void nextToken() {
+        skipWhitespaceAndComments();
+        quotedToken = false;
+        final int c = read();
+        switch (c) {
+            case EOF -> token = Token.END;
+            case '{' -> token = Token.LEFT_BRACE;
+            case '}' -> token = Token.RIGHT_BRACE;
+            case '[' -> token = Token.LEFT_BRACKET;
+            case ']' -> token = Token.RIGHT_BRACKET;
+            case ';' -> token = Token.SEMICOLON;
+            case ',' -> token = Token.COMMA;
+            case '=' -> token = Token.EQUALS;
+            case '"' -> readQuotedId();
+            case '-' -> {
+                if (peek() == '>') {
+                    read();
+                    token = Token.EDGE_OP;
+                } else if (isDigit(peek()) || peek() == '.') {
+                    tokenText.setLength(0);
+                    tokenText.append('-');
+                    readNumeral(read());
+                } else {
+                    throw unsupported("undirected edges are not supported");
+                }
+            }
+            default -> {
+                if (isDigit(c) || c == '.') {
+                    tokenText.setLength(0);
+                    readNumeral(c);
+                } else if (isIdStart(c)) {
+                    readIdentifier(c);
+                } else {
+                    throw unsupported("unexpected character '" + (char) c + "'");
+                }
+            }
+        }
+    }
+
+    private void readIdentifier(int first) {
+        tokenText.setLength(0);
+        tokenText.append((char) first);
+        while (isIdStart(peek()) || isDigit(peek())) {
+            tokenText.append((char) read());
+        }
+        token = Token.ID;
+    }
+
+    private void readNumeral(int first) {
+        boolean seenDot = false;
+        int c = first;
+        while (true) {
+            if (c == '.') {
+                if (seenDot) {
+                    throw unsupported("malformed numeral");
+                }
+                seenDot = true;
+            }
+            tokenText.append((char) c);
+            if (isDigit(peek()) || (peek() == '.' && !seenDot)) {
+                c = read();
+            } else {
+                break;
+            }
+        }
+        if (isIdStart(peek())) {
+            throw unsupported("identifier cannot start with a digit");
+        }
+        token = Token.ID;
+    }
+
+    private void readQuotedId() {
+        tokenText.setLength(0);
+        while (true) {
+            final int c = read();
+            if (c == EOF) {
+                throw unsupported("unterminated string");
+            } else if (c == '"') {
+                break;
+            } else if (c == '\\') {
+                if (peek() != '"') {
+                    throw unsupported("escape sequences other than \\\" are not supported");
+                }
+                tokenText.append((char) read());
+            } else {
+                if (c == '\n') {
+                    line++;
+                }
+                tokenText.append((char) c);
+            }
+        }
+        token = Token.ID;
+        quotedToken = true;
+    }
+
+    private void skipWhitespaceAndComments() {
+        boolean lineStart = position == 0 && limit == 0;
+        while (true) {
+            final int c = peek();
+            if (c == '\n') {
+                read();
+                line++;
+                lineStart = true;
+            } else if (Character.isWhitespace(c)) {
+                read();
+            } else if (c == '#' && lineStart) {
+                skipToEndOfLine(); // preprocessor output line
+            } else if (c == '/') {
+                read();
+                final int next = read();
+                if (next == '/') {
+                    skipToEndOfLine();
+                } else if (next == '*') {
+                    skipBlockComment();
+                } else {
+                    throw unsupported("unexpected character '/'");
+                }
+            } else {
+                return;
+            }
+        }
+    }
+
+    private void skipToEndOfLine() {
+        while (peek() != '\n' && peek() != EOF) {
+            read();
+        }
+    }
+
+    private void skipBlockComment() {
+        int previous = 0;
+        while (true) {
+            final int c = read();
+            if (c == EOF) {
+                throw unsupported("unterminated comment");
+            } else if (c == '\n') {
+                line++;
+            } else if (c == '/' && previous == '*') {
+                return;
+            }
+            previous = c;
+        }
+    }
+
+    private static boolean isDigit(int c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isIdStart(int c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '_' || c >= 0x80;
+    }
+
+    private int peek() {
+        if (position == limit && !fill()) {
+            return EOF;
+        }
+        return buffer[position];
+    }
+
+    private int read() {
+        if (position == limit && !fill()) {
+            return EOF;
+        }
+        return buffer[position++];
+    }
+
+    private boolean fill() {
+        try {
+            final int count = reader.read(buffer, 0, buffer.length);
+            if (count <= 0) {
+                return false;
+            }
+            position = 0;
+            limit = count;
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
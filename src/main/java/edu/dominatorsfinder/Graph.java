@@ -1,37 +1,141 @@
 package edu.dominatorsfinder;
 
+import com.google.common.base.Preconditions;
 import com.google.common.base.Verify;
-import edu.dominatorsfinder.naivedfs.DfsPayload;
+import com.google.common.primitives.Ints;
 
+import javax.annotation.Nullable;
+
+import java.util.AbstractList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
-import java.util.function.Consumer;
-import java.util.function.Function;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.RandomAccess;
+import java.util.function.IntConsumer;
 import java.util.stream.Stream;
 
-import static java.util.stream.Collectors.toMap;
-
 /**
- * Represents a generic Directed Graph.
- * All the Graph structure is immutable except the {@link DfsPayload}-s attached to each vertex.
+ * Represents a Directed Graph: the topology only, with no algorithm data attached.
+ * The Graph is immutable, and so it is thread-safe: any number of finders may query the same Graph concurrently
+ * without locking. Each finder keeps its per-query state in its own arrays indexed by vertex id, so one Graph
+ * can be shared by all the algorithms, and it is built only once per input.
+ * <p>
+ * The edges are stored in Compressed Sparse Row (CSR) form: outgoing edges of vertex {@code v} are the target
+ * vertex ids {@code targets[offsets[v]] .. targets[offsets[v + 1] - 1]}, sorted in ascending order.
+ * Use {@link #outDegree(int)}, {@link #target(int, int)}, {@link #forEachSuccessor(int, IntConsumer)},
+ * {@link #forEachVertex(IntConsumer)} or a reusable {@link SuccessorCursor} on hot paths: they do not box or allocate
+ * per vertex or per edge. Vertex and edge counts are {@code O(1)}.
  */
-public class Graph <P> {
+public final class Graph {
+
+    /** DFS colors of {@link #topologicalOrder(int, int[], int[])}. */
+    private static final byte WHITE = 0;
+    private static final byte GREY = 1; // on the DFS stack
+    private static final byte BLACK = 2;
+
+    private final List<Vertex> vertices;
+    private final VertexKeys keys;
+
+    /** {@code offsets.length == numberOfVertices() + 1}, {@code offsets[numberOfVertices()] == numberOfEdges()}. */
+    final int[] offsets;
+    final int[] targets;
 
-    private final List<Vertex<P>> vertices;
-    private final Map<String, Vertex<P>> verticesByKeyMap;
+    /**
+     * Predecessor lists: built together with the Graph, or on the first demand.
+     * NB: a benign race: concurrent first callers may each build an equal copy, and any of them is fine to keep.
+     */
+    private volatile ReverseAdjacency reverseAdjacency;
 
-    Graph(Vertex<P>[] vertices) {
-        checkInvariants(vertices);
-        this.vertices = List.of(vertices);
-        this.verticesByKeyMap = Arrays.stream(vertices).collect(toMap(Vertex::getKey, Function.identity()));
+    /** {@link #topologicalOrder} value of a Graph with a cycle. NB: compared by identity. */
+    private static final int[] NO_TOPOLOGICAL_ORDER = new int[0];
+
+    /**
+     * Vertex ids in a topological order, or {@link #NO_TOPOLOGICAL_ORDER}: found on the first demand only, so that
+     * the Graphs never asked for it (e.g. the subgraphs of each query) do not pay for the DFS.
+     * NB: a benign race, the same as for {@link #reverseAdjacency}.
+     */
+    private volatile int[] topologicalOrder;
+
+    /**
+     * @param withReverseAdjacency If {@code true}, the predecessor lists are built right away,
+     *                             otherwise on the first {@link #reverseAdjacency()} call.
+     */
+    Graph(String[] keys, int[] offsets, int[] targets, boolean withReverseAdjacency) {
+        this(VertexKeys.of(keys), offsets, targets, withReverseAdjacency);
     }
 
-    private void checkInvariants(Vertex<P>[] vertices) {
-        for (int i = 0; i< vertices.length; i++) {
-            Verify.verify(vertices[i] != null);
-            Verify.verify(vertices[i].getId() == i);
+    private Graph(VertexKeys keys, int[] offsets, int[] targets, boolean withReverseAdjacency) {
+        final int numberOfVertices = keys.size();
+        checkInvariants(numberOfVertices, offsets, targets);
+        this.offsets = offsets;
+        this.targets = targets;
+        if (withReverseAdjacency) {
+            this.reverseAdjacency = ReverseAdjacency.of(numberOfVertices, offsets, targets);
         }
+        this.keys = keys;
+        final Vertex[] vertexArray = new Vertex[numberOfVertices];
+        for (int id = 0; id < numberOfVertices; id++) {
+            vertexArray[id] = new Vertex(this, id);
+        }
+        this.vertices = List.of(vertexArray);
+    }
+
+    private static void checkInvariants(int numVertices, int[] offsets, int[] targets) {
+        Verify.verify(offsets.length == numVertices + 1);
+        Verify.verify(offsets[0] == 0);
+        Verify.verify(offsets[numVertices] == targets.length);
+        for (int v = 0; v < numVertices; v++) {
+            Verify.verify(offsets[v] <= offsets[v + 1]);
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                Verify.verify(targets[e] >= 0 && targets[e] < numVertices);
+                // ids must be unique and sorted in ascending order:
+                Verify.verify(e == offsets[v] || targets[e - 1] < targets[e]);
+            }
+        }
+    }
+
+    /**
+     * Non-recursive DFS over all the vertices, classifying the edges by the color of the target vertex
+     * (as {@code naivedfs.EdgeKind} does): the Graph is acyclic iff there is no backward edge, that is, no edge
+     * to a vertex still on the DFS stack. Then the reverse DFS post-order is a topological order.
+     * @return The topological order, or {@code null} as soon as a backward edge is found.
+     */
+    private static int[] topologicalOrder(int numberOfVertices, int[] offsets, int[] targets) {
+        final byte[] color = new byte[numberOfVertices];
+        final int[] stackVertex = new int[numberOfVertices];
+        final int[] stackNextEdge = new int[numberOfVertices];
+        final int[] order = new int[numberOfVertices];
+        int orderPosition = numberOfVertices;
+        for (int root = 0; root < numberOfVertices; root++) {
+            if (color[root] != WHITE) {
+                continue;
+            }
+            int top = 0;
+            stackVertex[0] = root;
+            stackNextEdge[0] = offsets[root];
+            color[root] = GREY;
+            while (top >= 0) {
+                final int id = stackVertex[top];
+                if (stackNextEdge[top] < offsets[id + 1]) {
+                    final int target = targets[stackNextEdge[top]++];
+                    if (color[target] == GREY) {
+                        return null; // backward edge
+                    } else if (color[target] == WHITE) {
+                        color[target] = GREY;
+                        top++;
+                        stackVertex[top] = target;
+                        stackNextEdge[top] = offsets[target];
+                    }
+                } else {
+                    color[id] = BLACK;
+                    order[--orderPosition] = id;
+                    top--;
+                }
+            }
+        }
+        return order;
     }
 
     public int numberOfVertices() {
@@ -39,31 +143,230 @@ public class Graph <P> {
     }
 
     public int numberOfEdges() {
-        return vertices.stream().mapToInt(v -> v.getOutgoingEdges().size()).sum();
+        return targets.length;
+    }
+
+    /**
+     * @return {@code true} if the Graph has no cycles. Detected once per Graph (apart from a benign race),
+     * on the first call, or when the Graph is built, see {@link GraphBuilder#withAcyclicityCheck()}.
+     */
+    public boolean isAcyclic() {
+        return topologicalOrder() != NO_TOPOLOGICAL_ORDER;
+    }
+
+    /**
+     * @param position Zero-based position in the topological order, {@code 0 <= position < numberOfVertices()}.
+     * @return The id of the vertex at the position: every edge goes from a smaller position to a larger one.
+     * @throws IllegalStateException If the Graph is not {@link #isAcyclic() acyclic}.
+     */
+    public int topologicalOrder(int position) {
+        final int[] order = topologicalOrder();
+        Preconditions.checkState(order != NO_TOPOLOGICAL_ORDER, "Graph has a cycle, so it has no topological order.");
+        return order[position];
     }
 
-    public List<Vertex<P>> outgoingVertices(Vertex<P> vertex) {
-        return vertex.getOutgoingEdges().stream().map(vertices::get).toList();
+    private int[] topologicalOrder() {
+        int[] result = topologicalOrder;
+        if (result == null) {
+            result = topologicalOrder(numberOfVertices(), offsets, targets);
+            if (result == null) {
+                result = NO_TOPOLOGICAL_ORDER;
+            }
+            topologicalOrder = result;
+        }
+        return result;
     }
 
-    /** Vertices appear in the Stream sorted by String key and id. */
-    public Stream<Vertex<P>> vertexStream() {
+    /** Number of outgoing edges of the vertex with the given {@code id}. */
+    public int outDegree(int id) {
+        return offsets[id + 1] - offsets[id];
+    }
+
+    /**
+     * @param id The source vertex id.
+     * @param i Zero-based index of the outgoing edge, {@code 0 <= i < outDegree(id)}.
+     * @return The id of the {@code i}-th target vertex of the vertex {@code id}.
+     */
+    public int target(int id, int i) {
+        assert i >= 0 && i < outDegree(id) : i;
+        return targets[offsets[id] + i];
+    }
+
+    /** Cursor over the ids of the target vertices of the vertex {@code id}, in ascending order. */
+    public SuccessorCursor successors(int id) {
+        return newSuccessorCursor().reset(id);
+    }
+
+    /**
+     * @return A cursor positioned at no vertex. It can be repositioned with {@link SuccessorCursor#reset(int)}
+     * any number of times, so a single cursor serves a whole traversal.
+     */
+    public SuccessorCursor newSuccessorCursor() {
+        return new SuccessorCursor(offsets, targets);
+    }
+
+    /** Applies the action to the ids of the target vertices of the vertex {@code id}, in ascending order. */
+    public void forEachSuccessor(int id, IntConsumer action) {
+        for (int e = offsets[id], end = offsets[id + 1]; e < end; e++) {
+            action.accept(targets[e]);
+        }
+    }
+
+    /** Applies the action to all the vertex ids, in ascending order. */
+    public void forEachVertex(IntConsumer action) {
+        for (int id = 0, n = numberOfVertices(); id < n; id++) {
+            action.accept(id);
+        }
+    }
+
+    /**
+     * @return The predecessor lists of this Graph, in the same CSR form. They are built at most once per Graph
+     * (apart from a benign race), so all the finders working on the reversed graph share them.
+     */
+    public ReverseAdjacency reverseAdjacency() {
+        ReverseAdjacency result = reverseAdjacency;
+        if (result == null) {
+            result = ReverseAdjacency.of(numberOfVertices(), offsets, targets);
+            reverseAdjacency = result;
+        }
+        return result;
+    }
+
+    /** Number of incoming edges of the vertex with the given {@code id}, see {@link #reverseAdjacency()}. */
+    public int inDegree(int id) {
+        return reverseAdjacency().inDegree(id);
+    }
+
+    /**
+     * @param id The target vertex id.
+     * @param i Zero-based index of the incoming edge, {@code 0 <= i < inDegree(id)}.
+     * @return The id of the {@code i}-th source vertex of the vertex {@code id}.
+     */
+    public int source(int id, int i) {
+        return reverseAdjacency().source(id, i);
+    }
+
+    /** Applies the action to the ids of the source vertices of the vertex {@code id}, in ascending order. */
+    public void forEachPredecessor(int id, IntConsumer action) {
+        reverseAdjacency().forEachPredecessor(id, action);
+    }
+
+    /**
+     * The subgraph induced by the given vertices: all the edges of this Graph between them, and nothing else.
+     * Costs {@code O((k + e) log(k))} for {@code k} vertices with {@code e} outgoing edges, whatever the size of this Graph.
+     * @param ids Ids of the vertices to keep, in strictly ascending order. Vertex {@code i} of the subgraph
+     *            is vertex {@code ids[i]} of this Graph, with the same key, so the key order of the ids is kept.
+     */
+    public Graph inducedSubgraph(int[] ids) {
+        int maxNumberOfEdges = 0;
+        for (int i = 0; i < ids.length; i++) {
+            Preconditions.checkArgument(i == 0 || ids[i - 1] < ids[i], "Vertex ids must be strictly ascending: %s", ids[i]);
+            maxNumberOfEdges += outDegree(ids[i]);
+        }
+        final int[] subOffsets = new int[ids.length + 1];
+        int[] subTargets = new int[maxNumberOfEdges];
+        int numberOfEdges = 0;
+        for (int i = 0; i < ids.length; i++) {
+            for (int e = offsets[ids[i]], end = offsets[ids[i] + 1]; e < end; e++) {
+                // NB: the targets are sorted, and so are the ids, so the new targets come out sorted too:
+                final int subId = Arrays.binarySearch(ids, targets[e]);
+                if (subId >= 0) {
+                    subTargets[numberOfEdges++] = subId;
+                }
+            }
+            subOffsets[i + 1] = numberOfEdges;
+        }
+        if (numberOfEdges < subTargets.length) {
+            subTargets = Arrays.copyOf(subTargets, numberOfEdges);
+        }
+        return new Graph(keys.subset(ids), subOffsets, subTargets, false);
+    }
+
+    /** Boxed copy of the outgoing edge list. Convenient for diagnostics and tests, should not be used on hot paths. */
+    List<Integer> outgoingEdges(int id) {
+        return Ints.asList(Arrays.copyOfRange(targets, offsets[id], offsets[id + 1]));
+    }
+
+    /** Read-only view of the target vertices of the vertex, in ascending id order; nothing is copied. */
+    public List<Vertex> outgoingVertices(Vertex vertex) {
+        final int id = vertex.getId();
+        return new SuccessorVertexList(offsets[id], offsets[id + 1]);
+    }
+
+    /** Vertices appear in the Stream in ascending id order, which is the key order with the default {@link VertexLayout}. */
+    public Stream<Vertex> vertexStream() {
         return vertices.stream();
     }
 
-    public Vertex<P> vertex(int index) {
+    public Vertex vertex(int index) {
         return vertices.get(index);
     }
 
-    /** Vertex lookup by key. */
-    public Vertex<P> vertex(String key) {
-        return verticesByKeyMap.get(key);
+    /** Vertex lookup by key, see {@link VertexKeys#id(String)}; {@code null} if there is no such vertex (or the key is null). */
+    public Vertex vertex(@Nullable String key) {
+        final int id = (key == null) ? -1 : keys.id(key);
+        return id < 0 ? null : vertices.get(id);
     }
 
-    /** Brings all the mutable data to blank state. */
-    public void forAllPayloads(Consumer<P> consumer) {
-        vertexStream().forEach(v -> consumer.accept(v.getPayload()));
+    /** @return A new String of the key of the vertex, see {@link VertexKeys}. */
+    public String key(int id) {
+        return keys.key(id);
     }
 
+    /** List view over a slice of the CSR target array. */
+    private class SuccessorVertexList extends AbstractList<Vertex> implements RandomAccess {
+        private final int from;
+        private final int to;
 
+        SuccessorVertexList(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public Vertex get(int index) {
+            Objects.checkIndex(index, size());
+            return vertices.get(targets[from + index]);
+        }
+
+        @Override
+        public int size() {
+            return to - from;
+        }
+    }
+
+    /**
+     * Primitive iterator over a slice of the CSR target array, reusable with {@link #reset(int)}.
+     */
+    public static final class SuccessorCursor implements PrimitiveIterator.OfInt {
+        private final int[] offsets;
+        private final int[] targets;
+        private int position;
+        private int end;
+
+        private SuccessorCursor(int[] offsets, int[] targets) {
+            this.offsets = offsets;
+            this.targets = targets;
+        }
+
+        /** Positions the cursor at the first successor of the vertex {@code id}. */
+        public SuccessorCursor reset(int id) {
+            position = offsets[id];
+            end = offsets[id + 1];
+            return this;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return position < end;
+        }
+
+        @Override
+        public int nextInt() {
+            if (position >= end) {
+                throw new NoSuchElementException();
+            }
+            return targets[position++];
+        }
+    }
 }
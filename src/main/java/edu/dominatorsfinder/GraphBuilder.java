@@ -2,32 +2,43 @@ package edu.dominatorsfinder;
 
 import com.google.common.base.Preconditions;
 import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
 import lombok.*;
+import lombok.extern.log4j.Log4j2;
 import org.jgrapht.graph.DefaultDirectedGraph;
 import org.jgrapht.nio.dot.DOTImporter;
 
+import java.io.IOException;
 import java.io.Reader;
 import java.io.StringReader;
 import java.util.*;
-import java.util.function.Function;
-import java.util.stream.Collectors;
 
 import static com.google.common.base.Strings.isNullOrEmpty;
-import static com.google.common.base.Verify.verify;
-import static java.util.Comparator.comparing;
 
+@Log4j2
+public class GraphBuilder {
 
-public class GraphBuilder <P> {
+    /** The input member with the DOT text of the graph; it is streamed right into the parser, see {@link JsonEnvelopeReader}. */
+    private static final String GRAPH_MEMBER = "graph";
+    /**
+     * The JGraphT fallback has to re-read the DOT text from the start, so the text read by the fast parser is recorded,
+     * but only up to this length by default, see {@link #withMaximumFallbackLength(int)}. It is kept small, as every
+     * input up to it is copied, even though hardly any of them needs the fallback.
+     */
+    static final int DEFAULT_MAXIMUM_FALLBACK_LENGTH = 1 << 16;
 
     private InputData inputData;
-    private DefaultDirectedGraph<JGraphtVertex, JGraphtEdge> jgraphtGraph;
+    private DotParser.ParsedGraph parsedGraph;
 
-    private Graph<P> graph;
+    private Graph graph;
 
-    private JGraphtVertex startVertex;
-    private JGraphtVertex exitVertex;
+    private Vertex startVertex;
+    private Vertex exitVertex;
 
-    private Function<Vertex<P>, P> payloadFactoryFunction;
+    private boolean withReverseAdjacency;
+    private boolean withAcyclicityCheck;
+    private VertexLayout vertexLayout = VertexLayout.KEY_ORDER;
+    private int maximumFallbackLength = DEFAULT_MAXIMUM_FALLBACK_LENGTH;
 
     @RequiredArgsConstructor
     @Getter
@@ -41,108 +52,331 @@ public class GraphBuilder <P> {
     /** NB: For record it would be {@code new Edge().equals(new Edge()) == true}, so it has to be a class. */
     static class JGraphtEdge {}
 
-    public GraphBuilder<P> withPayloadFactoryFunction(Function<Vertex<P>, P> factoryFunction) {
-        this.payloadFactoryFunction = factoryFunction;
+    /**
+     * Makes the builder produce the predecessor lists together with the Graph, see {@link Graph#reverseAdjacency()}.
+     * Useful for the algorithms working on the reversed graph: then the cost is paid at build time rather than
+     * by the first query.
+     */
+    public GraphBuilder withReverseAdjacency() {
+        this.withReverseAdjacency = true;
+        return this;
+    }
+
+    /**
+     * Makes the builder check the Graph for cycles, see {@link Graph#isAcyclic()}. Useful for the algorithms that
+     * take a different path on acyclic graphs; otherwise the check is only done on demand.
+     */
+    public GraphBuilder withAcyclicityCheck() {
+        this.withAcyclicityCheck = true;
+        return this;
+    }
+
+    /** Sets the policy of assigning the vertex ids; {@link VertexLayout#KEY_ORDER} by default. */
+    public GraphBuilder withVertexLayout(@NonNull VertexLayout vertexLayout) {
+        this.vertexLayout = vertexLayout;
+        return this;
+    }
+
+    /**
+     * Sets the length of the longest DOT text that may fall back to the JGraphT importer, see {@link #buildGraph(Reader)};
+     * {@link #DEFAULT_MAXIMUM_FALLBACK_LENGTH} by default, {@code 0} disables the fallback.
+     * The longer graphs are never held in memory as text, and must be in the supported DOT subset.
+     */
+    public GraphBuilder withMaximumFallbackLength(int maximumFallbackLength) {
+        Preconditions.checkArgument(maximumFallbackLength >= 0, "Negative length: %s", maximumFallbackLength);
+        this.maximumFallbackLength = maximumFallbackLength;
         return this;
     }
 
     public void build(String inputJson) {
-        buildInputData(inputJson);
+        parse(inputJson);
+        buildParsedGraph();
+    }
+
+    /**
+     * The first phase of {@link #build}: reads the input and parses the graph, so that {@link #getInputData()}
+     * and {@link #getFingerprint()} become available before the Graph is built.
+     */
+    public void parse(String inputJson) {
+        parse(new StringReader(inputJson));
+    }
+
+    /**
+     * Same as {@link #parse(String)}, but reads the input from the {@code reader} in a single pass: the DOT text
+     * of the graph goes right into the parser, so it is held in memory as text only up to the length that may fall back
+     * to the JGraphT importer, see {@link #withMaximumFallbackLength(int)}. The reader is not closed.
+     * NB: so {@link InputData#getDotFormatGraph()} is {@code null} here.
+     */
+    public void parse(Reader inputJson) {
+        buildInputData(JsonEnvelopeReader.read(inputJson, GRAPH_MEMBER, this::buildGraph));
         preCheckInputData();
-        buildGraph(inputData.getDotFormatGraph());
-        checkInvariants();
+    }
+
+    /** The second phase of {@link #build}: builds the Graph from the parsed data. */
+    public void buildParsedGraph() {
+        Preconditions.checkState(parsedGraph != null, "The input must be parsed first.");
         buildGraph();
+        checkInvariants();
+    }
+
+    public GraphFingerprint getFingerprint() {
+        return parsedGraph.fingerprint();
     }
 
-    public Graph<P> getGraph() {
+    /**
+     * Alternative second phase of {@link #build}: adopts an already built Graph with the same fingerprint
+     * (e.g. a cached one) instead of building a new one.
+     */
+    public void adoptGraph(Graph builtGraph) {
+        Preconditions.checkState(parsedGraph != null, "The input must be parsed first.");
+        Preconditions.checkArgument(builtGraph.numberOfVertices() == parsedGraph.numberOfVertices());
+        graph = builtGraph;
+        checkInvariants();
+    }
+
+    public Graph getGraph() {
         return graph;
     }
 
+    public InputData getInputData() {
+        return inputData;
+    }
+
     void preCheckInputData() {
         // NB: these restrictions are relaxed for the sake of tests:
         //Preconditions.checkArgument(!isNullOrEmpty(inputData.getStartNodeKey()), "Start vertex (\"h\") must be given.");
         //Preconditions.checkArgument(!isNullOrEmpty(inputData.getExitNodeKey()), "Exit vertex (\"e2\") must be given.");
-        Preconditions.checkArgument(!isNullOrEmpty(inputData.getDotFormatGraph()), "Graph (\"graph\") must be given.");
+        Preconditions.checkArgument(parsedGraph != null, "Graph (\"graph\") must be given.");
     }
 
+    /** @param inputJson The input, except for the graph, which is parsed separately. */
     void buildInputData(String inputJson) {
         Gson gson = new Gson();
-        inputData = gson.fromJson(inputJson, InputData.class);
+        try {
+            inputData = gson.fromJson(inputJson, InputData.class);
+        } catch (JsonParseException e) {
+            throw new IllegalArgumentException("Malformed JSON input: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Parses the graph with the fast {@link DotParser}. If the input uses DOT features beyond the supported subset,
+     * falls back to the JGraphT importer, provided the graph is not longer than {@link #withMaximumFallbackLength(int)}.
+     */
+    void buildGraph(Reader digraphDSLReader) {
+        final RecordingReader reader = new RecordingReader(digraphDSLReader, maximumFallbackLength);
+        try {
+            parsedGraph = DotParser.parse(reader);
+        } catch (DotParser.UnsupportedSyntaxException e) {
+            if (!reader.canReplay()) {
+                throw new IllegalArgumentException(e.getMessage() + " (the graphs longer than "
+                        + maximumFallbackLength + " chars must be in the supported DOT subset)", e);
+            }
+            log.debug("Falling back to JGraphT DOT importer: {}", e.getMessage());
+            parsedGraph = importGraphWithJGrapht(reader.replay());
+        }
+    }
+
+    DotParser.ParsedGraph importGraphWithJGrapht(String digraphDSLString) {
+        return importGraphWithJGrapht(new StringReader(digraphDSLString));
     }
 
     @SneakyThrows
-    void buildGraph(String digraphDSLString) {
-        jgraphtGraph = new DefaultDirectedGraph<>(null, JGraphtEdge::new, false);
+    private DotParser.ParsedGraph importGraphWithJGrapht(Reader digraphDSLReader) {
+        final DefaultDirectedGraph<JGraphtVertex, JGraphtEdge> jgraphtGraph = new DefaultDirectedGraph<>(null, JGraphtEdge::new, false);
 
         DOTImporter<JGraphtVertex, JGraphtEdge> importer = new DOTImporter<>();
         final Map<String, JGraphtVertex> vertices = new HashMap<>();
         importer.setVertexFactory(id -> vertices.computeIfAbsent(id, JGraphtVertex::new));
 
-        try (Reader reader = new StringReader(digraphDSLString)) {
-            importer.importGraph(jgraphtGraph, reader);
+        importer.importGraph(jgraphtGraph, digraphDSLReader);
+
+        final String[] keys = new String[jgraphtGraph.vertexSet().size()];
+        int index = 0;
+        for (JGraphtVertex vertex: jgraphtGraph.vertexSet()) {
+            vertex.setId(index);
+            keys[index] = vertex.getKey();
+            index++;
+        }
+
+        final int numberOfEdges = jgraphtGraph.edgeSet().size();
+        final int[] sources = new int[numberOfEdges];
+        final int[] targets = new int[numberOfEdges];
+        int edgeIndex = 0;
+        for (JGraphtEdge edge: jgraphtGraph.edgeSet()) {
+            sources[edgeIndex] = jgraphtGraph.getEdgeSource(edge).getId();
+            targets[edgeIndex] = jgraphtGraph.getEdgeTarget(edge).getId();
+            edgeIndex++;
         }
+        return new DotParser.ParsedGraph(keys, sources, targets, numberOfEdges,
+                GraphFingerprint.of(keys, sources, targets, numberOfEdges));
     }
 
     void checkInvariants() {
-        final Map<String, JGraphtVertex> vertexMap = jgraphtGraph.vertexSet().stream().collect(Collectors.toMap(JGraphtVertex::getKey, Function.identity()));
-
         final String entryNodeKey = inputData.getEntryNodeKey();
         if (!isNullOrEmpty(entryNodeKey)) {
-            JGraphtVertex entryVertex =  vertexMap.get(entryNodeKey);
+            Vertex entryVertex = graph.vertex(entryNodeKey);
             Preconditions.checkArgument(entryVertex != null, "Entry vertex [%s] must be present in the Graph.", entryNodeKey);
-            Preconditions.checkArgument(jgraphtGraph.outDegreeOf(entryVertex) > 0, "Entry vertex [%s] must have outgoing edges.", entryNodeKey);
+            Preconditions.checkArgument(entryVertex.outDegree() > 0, "Entry vertex [%s] must have outgoing edges.", entryNodeKey);
         }
 
         final String startNodeKey = inputData.getStartNodeKey();
-        startVertex =  vertexMap.get(startNodeKey);
+        startVertex = graph.vertex(startNodeKey);
         //Preconditions.checkArgument(startVertex != null, "Start vertex [%s] must be present in the Graph.", startNodeKey);
 
         final String exitNodeKey = inputData.getExitNodeKey();
-        exitVertex =  vertexMap.get(exitNodeKey);
+        exitVertex = graph.vertex(exitNodeKey);
         //Preconditions.checkArgument(exitVertex != null, "Exit vertex [%s] must be present in the Graph.", exitNodeKey);
     }
 
     void buildGraph() {
-        final Set<JGraphtVertex> vertexSet = new TreeSet<>(comparing(JGraphtVertex::getKey));
-        Set<JGraphtVertex> set = jgraphtGraph.vertexSet();
-        vertexSet.addAll(set);
-        verify(set.size() == vertexSet.size());
+        final String[] parsedKeys = parsedGraph.keys();
+        final int numberOfVertices = parsedGraph.numberOfVertices();
 
-        int vertexId = 0;
-        for (JGraphtVertex vertex: vertexSet) {
-            vertex.id = vertexId;
-            vertexId++;
+        final int[] indicesById;
+        if (vertexLayout == VertexLayout.KEY_ORDER) {
+            // NB: ids are assigned in key order, so they do not depend on the order of statements in the input:
+            indicesById = VertexOrder.byKey(parsedKeys);
+        } else {
+            // NB: no key sort: the traversal runs on the vertex indices of the parsed graph, and its order is the permutation:
+            final int[] identity = new int[numberOfVertices];
+            Arrays.setAll(identity, i -> i);
+            final Csr parsedCsr = buildCsr(numberOfVertices, parsedGraph.sources(), parsedGraph.targets(), parsedGraph.numberOfEdges(), identity);
+            indicesById = VertexOrder.of(vertexLayout, numberOfVertices, parsedCsr.offsets(), parsedCsr.targets(), rootIndex(parsedKeys));
         }
 
-        final Vertex<P>[] vertices = new Vertex[vertexSet.size()];
+        final String[] keys = new String[numberOfVertices];
+        final int[] idByIndex = new int[numberOfVertices];
+        for (int id = 0; id < numberOfVertices; id++) {
+            keys[id] = parsedKeys[indicesById[id]];
+            idByIndex[indicesById[id]] = id;
+        }
 
-        for (JGraphtVertex vertex: vertexSet) {
-            int[] outIndexes = jgraphtGraph.outgoingEdgesOf(vertex).stream()
-                    .map(edge -> jgraphtGraph.getEdgeTarget(edge))
-                    .mapToInt(JGraphtVertex::getId)
-                    .toArray();
-            assert areCorrectIndices(outIndexes, vertexSet.size());
-            // NB: make the order of outgoing edges fully deterministic: sort them by id:
-            Arrays.sort(outIndexes);
-            vertices[vertex.getId()] = new Vertex<>(vertex.getId(), vertex.getKey(), outIndexes, payloadFactoryFunction);
+        final Csr csr = buildCsr(numberOfVertices, parsedGraph.sources(), parsedGraph.targets(), parsedGraph.numberOfEdges(), idByIndex);
+        graph = new Graph(keys, csr.offsets(), csr.targets(), withReverseAdjacency);
+        if (withAcyclicityCheck) {
+            // NB: the result is kept by the Graph, so the check is paid for at build time rather than by the first query:
+            final boolean acyclic = graph.isAcyclic();
+            log.debug("Graph is acyclic: {}", acyclic);
         }
+    }
 
-        graph = new Graph<>(vertices);
+    /** @return The index of the root vertex of the {@link VertexLayout} traversals in the parsed graph. */
+    private int rootIndex(String[] parsedKeys) {
+        for (String rootKey: new String[] { inputData.getEntryNodeKey(), inputData.getStartNodeKey() }) {
+            if (!isNullOrEmpty(rootKey)) {
+                for (int i = 0; i < parsedKeys.length; i++) {
+                    if (rootKey.equals(parsedKeys[i])) {
+                        return i;
+                    }
+                }
+            }
+        }
+        return 0;
     }
 
-    boolean areCorrectIndices(int[] indexes, int numNodes) {
-        for (int index : indexes) {
-            if (index < 0 || index >= numNodes) {
-                return false;
+    /**
+     * Passes the chars through, recording them up to the given length, so that they can be read once again.
+     */
+    private static final class RecordingReader extends Reader {
+        private final Reader reader;
+        private final int maximumLength;
+        /** {@code null} once more than {@code maximumLength} chars have been read. */
+        private StringBuilder recorded;
+
+        RecordingReader(Reader reader, int maximumLength) {
+            this.reader = reader;
+            this.maximumLength = maximumLength;
+            this.recorded = (maximumLength > 0) ? new StringBuilder() : null;
+        }
+
+        @Override
+        public int read(char[] chars, int from, int length) throws IOException {
+            final int count = reader.read(chars, from, length);
+            if (count > 0 && recorded != null) {
+                if (recorded.length() + count > maximumLength) {
+                    recorded = null;
+                } else {
+                    recorded.append(chars, from, count);
+                }
+            }
+            return count;
+        }
+
+        boolean canReplay() {
+            return recorded != null;
+        }
+
+        /** @return Reader of the recorded chars followed by the rest of the underlying reader. */
+        Reader replay() {
+            Preconditions.checkState(recorded != null, "Too many chars read to replay them.");
+            final Reader recordedReader = new StringReader(recorded.toString());
+            recorded = null;
+            return new Reader() {
+                @Override
+                public int read(char[] chars, int from, int length) throws IOException {
+                    final int count = recordedReader.read(chars, from, length);
+                    return count >= 0 ? count : reader.read(chars, from, length);
+                }
+
+                @Override
+                public void close() {
+                }
+            };
+        }
+
+        @Override
+        public void close() {
+            // NB: the underlying reader is not ours to close.
+        }
+    }
+
+    /**
+     * Compressed Sparse Row adjacency, see {@link Graph}.
+     */
+    record Csr(int[] offsets, int[] targets) {}
+
+    /**
+     * Builds CSR adjacency from the edge list with a counting sort by source vertex in {@code O(V + E)}
+     * (plus sorting of each adjacency row). Duplicate edges are dropped.
+     * @param idByIndex Mapping from the vertex indices used in {@code sources}/{@code targets} to the vertex ids.
+     */
+    static Csr buildCsr(int numberOfVertices, int[] sources, int[] targets, int numberOfEdges, int[] idByIndex) {
+        final int[] offsets = new int[numberOfVertices + 1];
+        for (int e = 0; e < numberOfEdges; e++) {
+            offsets[idByIndex[sources[e]] + 1]++;
+        }
+        for (int v = 0; v < numberOfVertices; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+
+        final int[] insertPositions = Arrays.copyOf(offsets, numberOfVertices);
+        final int[] csrTargets = new int[numberOfEdges];
+        for (int e = 0; e < numberOfEdges; e++) {
+            csrTargets[insertPositions[idByIndex[sources[e]]]++] = idByIndex[targets[e]];
+        }
+
+        // NB: make the order of outgoing edges fully deterministic: sort them by id, and drop the duplicates:
+        int writePosition = 0;
+        for (int v = 0; v < numberOfVertices; v++) {
+            final int from = offsets[v];
+            final int to = offsets[v + 1];
+            Arrays.sort(csrTargets, from, to);
+            offsets[v] = writePosition;
+            for (int e = from; e < to; e++) {
+                if (e == from || csrTargets[e] != csrTargets[e - 1]) {
+                    csrTargets[writePosition++] = csrTargets[e];
+                }
             }
         }
-        return true;
+        offsets[numberOfVertices] = writePosition;
+        return new Csr(offsets, writePosition == numberOfEdges ? csrTargets : Arrays.copyOf(csrTargets, writePosition));
     }
 
-    public Vertex<P> startVertex() {
-        return graph.vertex(startVertex.getId());
+    public Vertex startVertex() {
+        return startVertex;
     }
-    public Vertex<P> exitVertex() {
-        return graph.vertex(exitVertex.getId());
+    public Vertex exitVertex() {
+        return exitVertex;
     }
 }
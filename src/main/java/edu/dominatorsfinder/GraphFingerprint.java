@@ -0,0 +1,100 @@
+package edu.dominatorsfinder;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+import java.security.SecureRandom;
+import java.util.Arrays;
+
+/**
+ * Canonical fingerprint of a graph topology: it depends only on the set of vertex keys and the set of edges,
+ * but not on the whitespace, comments, attributes, duplicate edges, or the order of statements and edges in the input.
+ * So the inputs building the same Graph get the same fingerprint.
+ * <p>
+ * Each vertex key is hashed to two 64-bit lanes once; each edge is mixed from the hashes of its ends; then the vertex
+ * and edge hashes are summed, and the sum is order independent. Two lanes plus the counts make accidental collisions
+ * negligible, so the fingerprint can be used as a cache key.
+ * <p>
+ * NB: the sums of public unkeyed hashes could be forced to collide with a generalized birthday search, and then
+ * a crafted graph would be given the cached results of another one. So the key hashes are SipHash with secret keys
+ * drawn once per process: the fingerprints cannot be computed, let alone made to collide, offline.
+ * The flip side is that the fingerprints are only comparable within the same process.
+ */
+public record GraphFingerprint(long vertexHash1, long vertexHash2, long edgeHash1, long edgeHash2,
+                               int numberOfVertices, int numberOfEdges) {
+
+    /** Incrementally computes the fingerprint while the graph is being parsed. */
+    static final class Accumulator {
+        private static final SecureRandom SECRET_SOURCE = new SecureRandom();
+        private static final HashFunction KEY_HASH_FUNCTION_1 = Hashing.sipHash24(SECRET_SOURCE.nextLong(), SECRET_SOURCE.nextLong());
+        private static final HashFunction KEY_HASH_FUNCTION_2 = Hashing.sipHash24(SECRET_SOURCE.nextLong(), SECRET_SOURCE.nextLong());
+
+        /** Two hash lanes per vertex, by vertex index. */
+        private long[] keyHashes = new long[128];
+        private long vertexHash1;
+        private long vertexHash2;
+        private int numberOfVertices;
+
+        /** Must be called once per vertex, in the order of vertex indices. */
+        void addVertex(String key) {
+            if (2 * numberOfVertices == keyHashes.length) {
+                keyHashes = Arrays.copyOf(keyHashes, keyHashes.length * 2);
+            }
+            final long hash1 = KEY_HASH_FUNCTION_1.hashUnencodedChars(key).asLong();
+            final long hash2 = KEY_HASH_FUNCTION_2.hashUnencodedChars(key).asLong();
+            keyHashes[2 * numberOfVertices] = hash1;
+            keyHashes[2 * numberOfVertices + 1] = hash2;
+            vertexHash1 += mix(hash1);
+            vertexHash2 += mix(hash2);
+            numberOfVertices++;
+        }
+
+        /**
+         * @param sources Edge source vertex indices, only first {@code numberOfEdges} elements are meaningful.
+         * @param targets Edge target vertex indices, only first {@code numberOfEdges} elements are meaningful.
+         */
+        GraphFingerprint toFingerprint(int[] sources, int[] targets, int numberOfEdges) {
+            // NB: the duplicate edges are dropped the same way as in the Graph, so each distinct edge is counted once:
+            final long[] edges = new long[numberOfEdges];
+            for (int e = 0; e < numberOfEdges; e++) {
+                edges[e] = ((long) sources[e] << Integer.SIZE) | targets[e];
+            }
+            Arrays.sort(edges);
+
+            long edgeHash1 = 0;
+            long edgeHash2 = 0;
+            int numberOfDistinctEdges = 0;
+            for (int e = 0; e < numberOfEdges; e++) {
+                if (e > 0 && edges[e] == edges[e - 1]) {
+                    continue;
+                }
+                final int sourceIndex = (int) (edges[e] >>> Integer.SIZE);
+                final int targetIndex = (int) edges[e];
+                // NB: the multipliers differ, so that edges A -> B and B -> A are hashed differently:
+                edgeHash1 += mix(keyHashes[2 * sourceIndex] * 0x9E3779B97F4A7C15L + keyHashes[2 * targetIndex]);
+                edgeHash2 += mix(keyHashes[2 * sourceIndex + 1] + keyHashes[2 * targetIndex + 1] * 0xC2B2AE3D27D4EB4FL);
+                numberOfDistinctEdges++;
+            }
+            return new GraphFingerprint(vertexHash1, vertexHash2, edgeHash1, edgeHash2, numberOfVertices, numberOfDistinctEdges);
+        }
+
+        /** Finalization step of MurmurHash3. */
+        private static long mix(long x) {
+            x ^= x >>> 33;
+            x *= 0xFF51AFD7ED558CCDL;
+            x ^= x >>> 33;
+            x *= 0xC4CEB9FE1A85EC53L;
+            x ^= x >>> 33;
+            return x;
+        }
+    }
+
+    /** Computes the fingerprint of an already parsed edge list. */
+    static GraphFingerprint of(String[] keys, int[] sources, int[] targets, int numberOfEdges) {
+        final Accumulator accumulator = new Accumulator();
+        for (String key: keys) {
+            accumulator.addVertex(key);
+        }
+        return accumulator.toFingerprint(sources, targets, numberOfEdges);
+    }
+}
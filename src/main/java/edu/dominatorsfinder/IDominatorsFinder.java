@@ -2,7 +2,7 @@ package edu.dominatorsfinder;
 
 import java.util.List;
 
-public interface IDominatorsFinder<Payload> {
+public interface IDominatorsFinder {
 
-    List<Vertex<Payload>> computeDominators();
+    List<Vertex> computeDominators();
 }
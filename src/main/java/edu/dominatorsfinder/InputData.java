@@ -1,5 +1,6 @@
 package edu.dominatorsfinder;
 
+import com.google.gson.JsonElement;
 import com.google.gson.annotations.SerializedName;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
@@ -18,6 +19,15 @@ public class InputData {
     @SerializedName("h")
     final String startNodeKey;
 
+    // NB: GraphBuilder streams this field right into the DOT parser, so it stays null in the InputData of a GraphBuilder:
     @SerializedName("graph")
     final String dotFormatGraph;
+
+    // optional field, used by batch queries only: either an array of start vertex keys, or "all":
+    @SerializedName("hs")
+    final JsonElement startNodeKeys;
+
+    // optional field, used by post-dominance queries only: [["u", "v"], ...]
+    @SerializedName("pairs")
+    final String[][] vertexPairs;
 }
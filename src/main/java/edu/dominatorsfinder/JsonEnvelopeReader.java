@@ -0,0 +1,346 @@
+package edu.dominatorsfinder;
+
+import com.google.common.base.Preconditions;
+import com.google.gson.JsonPrimitive;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Single-pass reader of the input JSON object, the "envelope" of the graph. All its members are small, except for one:
+ * the DOT text of the graph, which may take tens of megabytes. The string value of that member is never materialized:
+ * it is decoded on the fly and handed to the consumer as a {@link Reader}, so that the DOT parser reads it right from
+ * the request body. The other members are copied verbatim into a JSON object text, to be mapped with Gson as usual.
+ * <p>
+ * The inputs used to be mapped by Gson in lenient mode, so the same lenient syntax of the object is accepted:
+ * names may be unquoted, strings may be single-quoted and may contain raw line breaks, {@code //}, {@code #} and
+ * {@code /* *}{@code /} comments may appear between the tokens, a name may be followed by {@code =} or {@code =>}
+ * instead of {@code :}, and the members may be separated by {@code ;} instead of {@code ,}.
+ * The values of the other members are left to Gson, in the lenient mode as before.
+ * Malformed input is reported with {@link IllegalArgumentException}.
+ */
+final class JsonEnvelopeReader {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final int EOF = -1;
+
+    private final Reader reader;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    /** Number of chars consumed, for the error messages. */
+    private long offset;
+
+    private JsonEnvelopeReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Reads the JSON object from the {@code reader}. The reader is consumed, but not closed.
+     * @param streamedMemberName Name of the member to be streamed.
+     * @param streamedMemberConsumer Gets the value of the streamed member, if it is a non-empty string.
+     *                               The rest of the value not consumed by the consumer is skipped.
+     * @return Text of the JSON object with all the members except the streamed one.
+     */
+    static String read(Reader reader, String streamedMemberName, Consumer<Reader> streamedMemberConsumer) {
+        return new JsonEnvelopeReader(reader).readEnvelope(streamedMemberName, streamedMemberConsumer);
+    }
+
+    private String readEnvelope(String streamedMemberName, Consumer<Reader> streamedMemberConsumer) {
+        final StringBuilder envelope = new StringBuilder().append('{');
+        boolean streamedMemberSeen = false;
+        skipWhitespaceAndComments();
+        expect('{', "'{' expected");
+        skipWhitespaceAndComments();
+        if (peekChar() == '}') {
+            nextChar();
+        } else {
+            while (true) {
+                skipWhitespaceAndComments();
+                final String name = readMemberName();
+                skipWhitespaceAndComments();
+                readNameSeparator();
+                skipWhitespaceAndComments();
+                if (name.equals(streamedMemberName) && isQuote(peekChar())) {
+                    Preconditions.checkArgument(!streamedMemberSeen, "Duplicate member \"%s\".", name);
+                    streamedMemberSeen = true;
+                    final StringValueReader value = new StringValueReader(nextChar());
+                    if (!value.isEmpty()) {
+                        streamedMemberConsumer.accept(value);
+                    }
+                    value.skipRest();
+                } else {
+                    if (envelope.length() > 1) {
+                        envelope.append(',');
+                    }
+                    envelope.append(new JsonPrimitive(name)).append(':');
+                    copyValue(envelope);
+                }
+                skipWhitespaceAndComments();
+                final int c = nextChar();
+                if (c == '}') {
+                    break;
+                } else if (c != ',' && c != ';') {
+                    throw malformed("',' or '}' expected");
+                }
+            }
+        }
+        skipWhitespaceAndComments();
+        if (peekChar() != EOF) {
+            throw malformed("end of input expected");
+        }
+        return envelope.append('}').toString();
+    }
+
+    private String readMemberName() {
+        final StringBuilder name = new StringBuilder();
+        if (isQuote(peekChar())) {
+            final StringValueReader nameReader = new StringValueReader(nextChar());
+            int c;
+            while ((c = nameReader.nextStringChar()) != EOF) {
+                name.append((char) c);
+            }
+        } else {
+            // NB: an unquoted name ends where an unquoted literal of Gson does:
+            while (isUnquotedNameChar(peekChar())) {
+                name.append((char) nextChar());
+            }
+            if (name.isEmpty()) {
+                throw malformed("member name expected");
+            }
+        }
+        return name.toString();
+    }
+
+    private static boolean isUnquotedNameChar(int c) {
+        return c != EOF && !Character.isWhitespace(c) && "/\\;#={}[]:,".indexOf(c) < 0;
+    }
+
+    /** Reads {@code ':'}, {@code '='} or {@code "=>"}. */
+    private void readNameSeparator() {
+        final int c = nextChar();
+        if (c == '=') {
+            if (peekChar() == '>') {
+                nextChar();
+            }
+        } else if (c != ':') {
+            throw malformed("':' expected");
+        }
+    }
+
+    /**
+     * Copies the raw text of a value, up to the {@code ','}, {@code ';'} or {@code '}'} following it.
+     * NB: the comments are replaced with spaces, as they may contain these separators.
+     */
+    private void copyValue(StringBuilder target) {
+        int depth = 0;
+        while (true) {
+            final int c = peekChar();
+            if (c == EOF) {
+                throw malformed("unexpected end of input");
+            } else if (depth == 0 && (c == ',' || c == ';' || c == '}')) {
+                return;
+            } else if (c == '/' || c == '#') {
+                skipComment();
+                target.append(' ');
+                continue;
+            }
+            nextChar();
+            target.append((char) c);
+            if (isQuote(c)) {
+                copyString(target, c);
+            } else if (c == '{' || c == '[') {
+                depth++;
+            } else if ((c == '}' || c == ']') && --depth < 0) {
+                throw malformed("unbalanced '" + (char) c + "'");
+            }
+        }
+    }
+
+    private void copyString(StringBuilder target, int quote) {
+        while (true) {
+            final int c = nextChar();
+            if (c == EOF) {
+                throw malformed("unterminated string");
+            }
+            target.append((char) c);
+            if (c == quote) {
+                return;
+            } else if (c == '\\') {
+                final int escaped = nextChar();
+                if (escaped == EOF) {
+                    throw malformed("unterminated string");
+                }
+                target.append((char) escaped);
+            }
+        }
+    }
+
+    private void skipWhitespaceAndComments() {
+        while (true) {
+            final int c = peekChar();
+            if (Character.isWhitespace(c)) {
+                nextChar();
+            } else if (c == '/' || c == '#') {
+                skipComment();
+            } else {
+                return;
+            }
+        }
+    }
+
+    /** Skips a {@code //}, {@code #} or {@code /* *}{@code /} comment, starting at its first char. */
+    private void skipComment() {
+        final int first = nextChar();
+        final int second = (first == '/') ? nextChar() : first;
+        if (second == '/' || second == '#') {
+            while (peekChar() != '\n' && peekChar() != EOF) {
+                nextChar();
+            }
+        } else if (second == '*') {
+            int previous = 0;
+            while (true) {
+                final int c = nextChar();
+                if (c == EOF) {
+                    throw malformed("unterminated comment");
+                } else if (c == '/' && previous == '*') {
+                    return;
+                }
+                previous = c;
+            }
+        } else {
+            throw malformed("unexpected '/'");
+        }
+    }
+
+    private void expect(char expected, String message) {
+        if (nextChar() != expected) {
+            throw malformed(message);
+        }
+    }
+
+    private static boolean isQuote(int c) {
+        return c == '"' || c == '\'';
+    }
+
+    private IllegalArgumentException malformed(String message) {
+        return new IllegalArgumentException("Malformed JSON input at offset " + offset + ": " + message);
+    }
+
+    private int peekChar() {
+        if (position == limit && !fill()) {
+            return EOF;
+        }
+        return buffer[position];
+    }
+
+    private int nextChar() {
+        if (position == limit && !fill()) {
+            return EOF;
+        }
+        offset++;
+        return buffer[position++];
+    }
+
+    private boolean fill() {
+        try {
+            final int count = reader.read(buffer, 0, buffer.length);
+            if (count <= 0) {
+                return false;
+            }
+            position = 0;
+            limit = count;
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Decodes the escape sequences of a string value on the fly; ends at the closing quote.
+     * NB: it reads from the buffer of the enclosing reader, so it must be consumed before anything else is read.
+     */
+    private final class StringValueReader extends Reader {
+
+        private final int quote;
+        private boolean ended;
+
+        private StringValueReader(int quote) {
+            this.quote = quote;
+        }
+
+        boolean isEmpty() {
+            return !ended && peekChar() == quote;
+        }
+
+        @Override
+        public int read(char[] chars, int from, int length) {
+            if (ended) {
+                return EOF;
+            }
+            int count = 0;
+            while (count < length) {
+                final int c = nextStringChar();
+                if (c == EOF) {
+                    break;
+                }
+                chars[from + count++] = (char) c;
+            }
+            return (count == 0 && length > 0) ? EOF : count;
+        }
+
+        void skipRest() {
+            while (nextStringChar() != EOF) {
+                // skip
+            }
+        }
+
+        /** @return The next decoded char of the string, or {@link #EOF} once the closing quote is consumed. */
+        private int nextStringChar() {
+            if (ended) {
+                return EOF;
+            }
+            final int c = nextChar();
+            if (c == EOF) {
+                throw malformed("unterminated string");
+            } else if (c == quote) {
+                ended = true;
+                return EOF;
+            } else if (c == '\\') {
+                return nextEscapedChar();
+            }
+            return c;
+        }
+
+        private int nextEscapedChar() {
+            final int c = nextChar();
+            return switch (c) {
+                case '"', '\'', '\\', '/' -> c;
+                case 'b' -> '\b';
+                case 'f' -> '\f';
+                case 'n' -> '\n';
+                case 'r' -> '\r';
+                case 't' -> '\t';
+                case 'u' -> {
+                    int code = 0;
+                    for (int i = 0; i < 4; i++) {
+                        final int digit = Character.digit(nextChar(), 16);
+                        if (digit < 0) {
+                            throw malformed("malformed \\u escape sequence");
+                        }
+                        code = (code << 4) | digit;
+                    }
+                    yield code;
+                }
+                default -> throw malformed("unsupported escape sequence");
+            };
+        }
+
+        @Override
+        public void close() {
+            // NB: the underlying reader belongs to the enclosing reader.
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package edu.dominatorsfinder;
+
+import java.util.Arrays;
+
+/**
+ * Constant time queries over a {@link PostDominatorTree}:
+ * <ul>
+ *     <li>"does {@code u} post-dominate {@code v}" is answered by DFS interval numbering of the tree:
+ *     {@code u} is an ancestor of {@code v} iff the [enter, leave] interval of {@code u} contains the one of {@code v};</li>
+ *     <li>the nearest common post-dominator (the lowest common ancestor in the tree) is answered by
+ *     a range minimum query over the Euler tour of the tree, with a sparse table precomputed in {@code O(V log(V))}.</li>
+ * </ul>
+ * The index is immutable, so it can be shared by any number of threads.
+ */
+public class PostDominanceIndex {
+
+    private final PostDominatorTree tree;
+    /** Indexed by vertex id: the time the DFS enters the vertex, -1 for the vertices absent in the tree. */
+    private final int[] enterTime;
+    /** Indexed by vertex id: the time the DFS leaves the vertex. */
+    private final int[] leaveTime;
+    /** Indexed by vertex id: the position of the first occurrence of the vertex in the Euler tour. */
+    private final int[] firstOccurrence;
+    /**
+     * {@code sparseTable[k][i]} is the id of the shallowest vertex among the Euler tour positions {@code i .. i + 2^k - 1};
+     * {@code sparseTable[0]} is the Euler tour itself.
+     */
+    private final int[][] sparseTable;
+
+    public PostDominanceIndex(PostDominatorTree tree) {
+        this.tree = tree;
+        final int numberOfVertices = tree.getGraph().numberOfVertices();
+        enterTime = new int[numberOfVertices];
+        leaveTime = new int[numberOfVertices];
+        firstOccurrence = new int[numberOfVertices];
+        Arrays.fill(enterTime, -1);
+
+        final int[] eulerTour = new int[2 * numberOfVertices - 1];
+        final int tourLength = traverse(eulerTour);
+        sparseTable = buildSparseTable(eulerTour, tourLength);
+    }
+
+    /** Non-recursive DFS of the tree that assigns the interval numbers and writes down the Euler tour. */
+    private int traverse(int[] eulerTour) {
+        final int numberOfVertices = enterTime.length;
+        final int[] stackVertex = new int[numberOfVertices];
+        final int[] stackChild = new int[numberOfVertices];
+        int clock = 0;
+        int tourLength = 0;
+
+        final int rootId = tree.rootId();
+        enterTime[rootId] = clock++;
+        firstOccurrence[rootId] = tourLength;
+        eulerTour[tourLength++] = rootId;
+        int top = 0;
+        stackVertex[0] = rootId;
+        stackChild[0] = 0;
+        while (top >= 0) {
+            final int v = stackVertex[top];
+            final int i = stackChild[top];
+            if (i < tree.numberOfChildren(v)) {
+                stackChild[top] = i + 1;
+                final int c = tree.child(v, i);
+                enterTime[c] = clock++;
+                firstOccurrence[c] = tourLength;
+                eulerTour[tourLength++] = c;
+                top++;
+                stackVertex[top] = c;
+                stackChild[top] = 0;
+            } else {
+                leaveTime[v] = clock++;
+                top--;
+                if (top >= 0) {
+                    eulerTour[tourLength++] = stackVertex[top]; // back in the parent
+                }
+            }
+        }
+        return tourLength;
+    }
+
+    private int[][] buildSparseTable(int[] eulerTour, int tourLength) {
+        final int levels = log2(tourLength) + 1;
+        final int[][] table = new int[levels][];
+        table[0] = eulerTour;
+        for (int k = 1; k < levels; k++) {
+            final int half = 1 << (k - 1);
+            final int[] previous = table[k - 1];
+            final int[] current = new int[tourLength - (1 << k) + 1];
+            for (int i = 0; i < current.length; i++) {
+                current[i] = shallower(previous[i], previous[i + half]);
+            }
+            table[k] = current;
+        }
+        return table;
+    }
+
+    private int shallower(int id1, int id2) {
+        return tree.depth(id1) <= tree.depth(id2) ? id1 : id2;
+    }
+
+    private static int log2(int x) {
+        return 31 - Integer.numberOfLeadingZeros(x);
+    }
+
+    public PostDominatorTree getTree() {
+        return tree;
+    }
+
+    /**
+     * @return {@code true} if {@code u} lies on every path from {@code v} to the exit vertex.
+     * Post-dominance is reflexive, so any vertex of the tree post-dominates itself.
+     * {@code false} if either vertex is not in the tree.
+     */
+    public boolean postDominates(Vertex u, Vertex v) {
+        final int uId = u.getId();
+        final int vId = v.getId();
+        if (enterTime[uId] < 0 || enterTime[vId] < 0) {
+            return false;
+        }
+        return enterTime[uId] <= enterTime[vId] && leaveTime[vId] <= leaveTime[uId];
+    }
+
+    /**
+     * @return The nearest vertex that post-dominates both {@code u} and {@code v}
+     * (it is {@code u} itself if {@code u} post-dominates {@code v}).
+     * @throws IllegalArgumentException if either vertex is not in the tree.
+     */
+    public Vertex nearestCommonPostDominator(Vertex u, Vertex v) {
+        tree.checkContains(u);
+        tree.checkContains(v);
+        int from = firstOccurrence[u.getId()];
+        int to = firstOccurrence[v.getId()];
+        if (from > to) {
+            final int t = from;
+            from = to;
+            to = t;
+        }
+        final int k = log2(to - from + 1);
+        final int id = shallower(sparseTable[k][from], sparseTable[k][to - (1 << k) + 1]);
+        return tree.getGraph().vertex(id);
+    }
+}
@@ -0,0 +1,217 @@
+package edu.dominatorsfinder;
+
+import com.google.common.base.Preconditions;
+
+import javax.annotation.Nullable;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+import static edu.dominatorsfinder.AbstractPostDominatorTreeFinder.NO_VERTEX;
+
+/**
+ * Immutable post-dominator tree of a Graph w.r.t. the exit vertex: the parent of each vertex is its immediate
+ * post-dominator, and the exit vertex is the root. Only the vertices the exit vertex is reachable from are present in the tree.
+ * <p>
+ * The tree is computed once per (Graph, exit vertex), after that dominators of any vertex are obtained in {@code O(depth)}.
+ */
+public class PostDominatorTree {
+
+    private final Graph graph;
+    private final Vertex exitVertex;
+    /** Indexed by vertex id, {@link AbstractPostDominatorTreeFinder#NO_VERTEX} for the root and for absent vertices. */
+    private final int[] immediatePostDominators;
+    /** Indexed by vertex id, 0 for the root, -1 for the vertices absent in the tree. */
+    private final int[] depths;
+    /** Children of vertex {@code v} are {@code children[childOffsets[v]] .. children[childOffsets[v + 1] - 1]}. */
+    private final int[] childOffsets;
+    private final int[] children;
+
+    PostDominatorTree(Graph graph, Vertex exitVertex, int[] immediatePostDominators) {
+        Preconditions.checkArgument(immediatePostDominators.length == graph.numberOfVertices());
+        Preconditions.checkArgument(immediatePostDominators[exitVertex.getId()] == NO_VERTEX);
+        this.graph = graph;
+        this.exitVertex = exitVertex;
+        this.immediatePostDominators = immediatePostDominators;
+        this.depths = computeDepths(immediatePostDominators, exitVertex.getId());
+
+        final int numberOfVertices = graph.numberOfVertices();
+        childOffsets = new int[numberOfVertices + 1];
+        for (int v = 0; v < numberOfVertices; v++) {
+            if (immediatePostDominators[v] != NO_VERTEX) {
+                childOffsets[immediatePostDominators[v] + 1]++;
+            }
+        }
+        for (int v = 0; v < numberOfVertices; v++) {
+            childOffsets[v + 1] += childOffsets[v];
+        }
+        children = new int[childOffsets[numberOfVertices]];
+        final int[] insertPositions = new int[numberOfVertices];
+        System.arraycopy(childOffsets, 0, insertPositions, 0, numberOfVertices);
+        for (int v = 0; v < numberOfVertices; v++) {
+            if (immediatePostDominators[v] != NO_VERTEX) {
+                children[insertPositions[immediatePostDominators[v]]++] = v;
+            }
+        }
+    }
+
+    /** Computes the depth of each vertex in {@code O(V)}: each vertex is pushed onto the stack at most once. */
+    private static int[] computeDepths(int[] immediatePostDominators, int rootId) {
+        final int numberOfVertices = immediatePostDominators.length;
+        final int[] depths = new int[numberOfVertices];
+        final int unknown = Integer.MIN_VALUE;
+        Arrays.fill(depths, unknown);
+        depths[rootId] = 0;
+        final int[] stack = new int[numberOfVertices];
+        for (int v = 0; v < numberOfVertices; v++) {
+            if (depths[v] != unknown) {
+                continue;
+            }
+            if (immediatePostDominators[v] == NO_VERTEX) {
+                depths[v] = -1; // not in the tree
+                continue;
+            }
+            int top = 0;
+            int u = v;
+            while (depths[u] == unknown) {
+                stack[top++] = u;
+                u = immediatePostDominators[u];
+            }
+            int depth = depths[u];
+            while (top > 0) {
+                depths[stack[--top]] = ++depth;
+            }
+        }
+        return depths;
+    }
+
+    public Graph getGraph() {
+        return graph;
+    }
+
+    /** The root of the tree. */
+    public Vertex getExitVertex() {
+        return exitVertex;
+    }
+
+    /** @return {@code true} if the vertex is in the tree, that is, the exit vertex is reachable from it. */
+    public boolean contains(Vertex vertex) {
+        return depths[vertex.getId()] >= 0;
+    }
+
+    /**
+     * @return The immediate post-dominator of the vertex, or {@code null} for the exit vertex.
+     * @throws IllegalArgumentException if the vertex is not in the tree.
+     */
+    public @Nullable Vertex immediateDominator(Vertex vertex) {
+        checkContains(vertex);
+        final int id = immediatePostDominators[vertex.getId()];
+        return id == NO_VERTEX ? null : graph.vertex(id);
+    }
+
+    /**
+     * @return The depth of the vertex in the tree: 0 for the exit vertex, 1 for the vertices it immediately
+     * post-dominates, etc. This is also the number of the vertex dominators.
+     * @throws IllegalArgumentException if the vertex is not in the tree.
+     */
+    public int depth(Vertex vertex) {
+        checkContains(vertex);
+        return depths[vertex.getId()];
+    }
+
+    /**
+     * @return All the dominators of the vertex in the order they appear on any path from the vertex to the exit,
+     * that is, from the immediate dominator up to the exit vertex. The vertex itself is not included.
+     * @throws IllegalArgumentException if the vertex is not in the tree.
+     */
+    public List<Vertex> dominatorsOf(Vertex vertex) {
+        checkContains(vertex);
+        final List<Vertex> dominators = new ArrayList<>(depths[vertex.getId()]);
+        for (int id = immediatePostDominators[vertex.getId()]; id != NO_VERTEX; id = immediatePostDominators[id]) {
+            dominators.add(graph.vertex(id));
+        }
+        return dominators;
+    }
+
+    /** @return The vertices immediately post-dominated by the given one, sorted by id. */
+    public List<Vertex> children(Vertex vertex) {
+        checkContains(vertex);
+        final int id = vertex.getId();
+        return new VertexListView(children, childOffsets[id], childOffsets[id + 1]);
+    }
+
+    /**
+     * @return The subtree rooted at the given vertex, that is, the vertex itself and all the vertices it post-dominates,
+     * in depth-first pre-order.
+     */
+    public List<Vertex> subtree(Vertex vertex) {
+        checkContains(vertex);
+        final int[] preOrder = new int[graph.numberOfVertices()];
+        final int[] stack = new int[graph.numberOfVertices()];
+        int size = 0;
+        int top = 0;
+        stack[top++] = vertex.getId();
+        while (top > 0) {
+            final int id = stack[--top];
+            preOrder[size++] = id;
+            // NB: push in reverse order, so that children are visited in ascending id order:
+            for (int c = childOffsets[id + 1] - 1; c >= childOffsets[id]; c--) {
+                stack[top++] = children[c];
+            }
+        }
+        return new VertexListView(preOrder, 0, size);
+    }
+
+    int rootId() {
+        return exitVertex.getId();
+    }
+
+    /** Number of the tree children of the vertex with the given {@code id}. */
+    int numberOfChildren(int id) {
+        return childOffsets[id + 1] - childOffsets[id];
+    }
+
+    /** @return The id of the {@code i}-th child of the vertex {@code id}, {@code 0 <= i < numberOfChildren(id)}. */
+    int child(int id, int i) {
+        assert i >= 0 && i < numberOfChildren(id) : i;
+        return children[childOffsets[id] + i];
+    }
+
+    /** @return The depth of the vertex with the given {@code id}, or -1 if it is not in the tree. */
+    int depth(int id) {
+        return depths[id];
+    }
+
+    void checkContains(Vertex vertex) {
+        if (!contains(vertex)) {
+            throw new IllegalArgumentException("Exit vertex [" + exitVertex + "] appears to be unreachable " +
+                    "from the start node [" + vertex + "]");
+        }
+    }
+
+    /** Read-only List view over a slice of a vertex id array. */
+    private class VertexListView extends AbstractList<Vertex> implements RandomAccess {
+        private final int[] ids;
+        private final int from;
+        private final int to;
+
+        VertexListView(int[] ids, int from, int to) {
+            this.ids = ids;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public Vertex get(int index) {
+            Preconditions.checkElementIndex(index, size());
+            return graph.vertex(ids[from + index]);
+        }
+
+        @Override
+        public int size() {
+            return to - from;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package edu.dominatorsfinder;
+
+import javax.annotation.Nullable;
+import java.util.function.IntConsumer;
+
+/**
+ * Predecessor (incoming edge) lists of a {@link Graph}, in the same Compressed Sparse Row form as the Graph itself.
+ * Incoming edges of vertex {@code v} are identified by their source vertex ids, sorted in ascending order.
+ * <p>
+ * Normally obtained with {@link Graph#reverseAdjacency()}, so that it is built once per Graph and shared by all the finders.
+ */
+public final class ReverseAdjacency {
+
+    private final int[] offsets;
+    private final int[] sources;
+
+    private ReverseAdjacency(int[] offsets, int[] sources) {
+        this.offsets = offsets;
+        this.sources = sources;
+    }
+
+    /** Builds a new copy of the predecessor lists of the Graph, see {@link #of(int, int[], int[])}. */
+    public static ReverseAdjacency of(Graph graph) {
+        return of(graph.numberOfVertices(), graph.offsets, graph.targets);
+    }
+
+    /**
+     * Builds the predecessor lists straight from the successor CSR arrays with a counting sort in {@code O(V + E)}.
+     * @param forwardOffsets Successor CSR offsets, see {@link Graph}.
+     * @param forwardTargets Successor CSR targets, see {@link Graph}.
+     */
+    static ReverseAdjacency of(int numberOfVertices, int[] forwardOffsets, int[] forwardTargets) {
+        final int numberOfEdges = forwardOffsets[numberOfVertices];
+        final int[] offsets = new int[numberOfVertices + 1];
+        for (int e = 0; e < numberOfEdges; e++) {
+            offsets[forwardTargets[e] + 1]++;
+        }
+        for (int v = 0; v < numberOfVertices; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+        final int[] insertPositions = new int[numberOfVertices];
+        System.arraycopy(offsets, 0, insertPositions, 0, numberOfVertices);
+        final int[] sources = new int[numberOfEdges];
+        // NB: sources are visited in ascending order, so each predecessor list comes out sorted:
+        for (int v = 0; v < numberOfVertices; v++) {
+            for (int e = forwardOffsets[v], end = forwardOffsets[v + 1]; e < end; e++) {
+                sources[insertPositions[forwardTargets[e]]++] = v;
+            }
+        }
+        return new ReverseAdjacency(offsets, sources);
+    }
+
+    /** Number of incoming edges of the vertex with the given {@code id}. */
+    public int inDegree(int id) {
+        return offsets[id + 1] - offsets[id];
+    }
+
+    /**
+     * @param id The target vertex id.
+     * @param i Zero-based index of the incoming edge, {@code 0 <= i < inDegree(id)}.
+     * @return The id of the {@code i}-th source vertex of the vertex {@code id}.
+     */
+    public int source(int id, int i) {
+        assert i >= 0 && i < inDegree(id) : i;
+        return sources[offsets[id] + i];
+    }
+
+    /** Applies the action to the ids of the source vertices of the vertex {@code id}, in ascending order. */
+    public void forEachPredecessor(int id, IntConsumer action) {
+        for (int e = offsets[id], end = offsets[id + 1]; e < end; e++) {
+            action.accept(sources[e]);
+        }
+    }
+
+    /**
+     * Non-recursive Depth First Search of the reversed graph (that is, against the edge direction).
+     * Reached vertices get 1-based DFS pre-order numbers; 0 means "no vertex".
+     * @param rootId The id of the vertex to start from.
+     * @param number Output, indexed by vertex id: the DFS number, or 0 if the vertex is not reached. Must be zero-filled.
+     * @param vertexByNumber Output, indexed by DFS number: the vertex id.
+     * @param parentNumber Output, indexed by DFS number: the DFS number of the parent in the DFS tree, 0 for the root.
+     * @return The number of reached vertices.
+     */
+    public int depthFirstPreOrder(int rootId, int[] number, int[] vertexByNumber, int[] parentNumber) {
+        return depthFirstSearch(rootId, number, vertexByNumber, parentNumber, null);
+    }
+
+    /**
+     * Same as {@link #depthFirstPreOrder}, but the vertices are numbered in DFS post-order (finishing order),
+     * so the root gets the largest number, and any vertex is numbered after all its DFS tree descendants.
+     * @param rootId The id of the vertex to start from.
+     * @param postOrderNumber Output, indexed by vertex id: the 1-based post-order number, or 0 if the vertex is not reached.
+     * Must be zero-filled.
+     * @param vertexByPostOrderNumber Output, indexed by post-order number: the vertex id.
+     * @return The number of reached vertices.
+     */
+    public int depthFirstPostOrder(int rootId, int[] postOrderNumber, int[] vertexByPostOrderNumber) {
+        // NB: pre-order numbers are only needed to mark the visited vertices, so they are overwritten when finished:
+        return depthFirstSearch(rootId, postOrderNumber, null, null, vertexByPostOrderNumber);
+    }
+
+    private int depthFirstSearch(int rootId, int[] number, @Nullable int[] vertexByNumber, @Nullable int[] parentNumber,
+                                 @Nullable int[] vertexByPostOrderNumber) {
+        final int[] stackVertex = new int[number.length];
+        final int[] stackEdge = new int[number.length];
+        int count = 0;
+        int finishedCount = 0;
+        number[rootId] = ++count;
+        if (vertexByNumber != null) {
+            vertexByNumber[count] = rootId;
+            parentNumber[count] = 0;
+        }
+        int top = 0;
+        stackVertex[top++] = rootId;
+        while (top > 0) {
+            final int v = stackVertex[top - 1];
+            final int e = stackEdge[top - 1];
+            if (e < inDegree(v)) {
+                stackEdge[top - 1] = e + 1;
+                final int w = source(v, e);
+                if (number[w] == 0) {
+                    number[w] = ++count;
+                    if (vertexByNumber != null) {
+                        vertexByNumber[count] = w;
+                        parentNumber[count] = number[v];
+                    }
+                    stackVertex[top] = w;
+                    stackEdge[top] = 0;
+                    top++;
+                }
+            } else {
+                top--;
+                if (vertexByPostOrderNumber != null) {
+                    number[v] = ++finishedCount;
+                    vertexByPostOrderNumber[finishedCount] = v;
+                }
+            }
+        }
+        return count;
+    }
+}
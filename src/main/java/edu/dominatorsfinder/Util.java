@@ -14,7 +14,7 @@ public class Util {
         }
     }
 
-    public static <P> List<String> asKeys(Collection<Vertex<P>> vertices) {
+    public static List<String> asKeys(Collection<Vertex> vertices) {
         return vertices.stream().map(Vertex::getKey).toList();
     }
 
@@ -1,16 +1,17 @@
 package edu.dominatorsfinder;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 
-import java.util.Arrays;
 import java.util.List;
-import java.util.function.Function;
 
 /**
  * Represents a vertex of Graph.
  */
 @Getter
-public class Vertex <P> {
+public class Vertex {
+    @Getter(AccessLevel.NONE)
+    private final Graph graph;
     /**
      * Integer {@code id} of the vertex.
      * The {@code id} is unique withing the Graph.
@@ -18,37 +19,37 @@ public class Vertex <P> {
      * So, the smallest id is 0, and largest id is N-1, where N is the number of nodes in the Graph.
      */
     private final int id;
+
+    Vertex(Graph graph, int id) {
+        this.graph = graph;
+        this.id = id;
+    }
+
     /**
      * String {@code key} of the Vertex as specified in the dot-format input.
      * The {@code key} is unique withing the Graph.
+     * NB: the keys are kept by the Graph as UTF-8 bytes, so each call decodes a new String, see {@link VertexKeys}.
      */
-    private final String key;
+    public String getKey() {
+        return graph.key(id);
+    }
+
+    /** Number of outgoing edges, see {@link Graph#outDegree(int)}. */
+    public int outDegree() {
+        return graph.outDegree(id);
+    }
+
     /**
      * Outgoing edge list, with each edge being identified by its target vertex {@code id}.
      * The {@code id}s in the List are unique and sorted in ascending order.
+     * NB: the List is a boxed copy of the Graph adjacency, prefer {@link Graph#target(int, int)} on hot paths.
      */
-    private final List<Integer> outgoingEdges;
-    private final P payload;
-
-    Vertex(int id, String key, int[] outgoingEdges, Function<Vertex<P>, P> payloadFunction) {
-        this.id = id;
-        this.key = key;
-        assert areSorted(outgoingEdges);
-        this.outgoingEdges = Arrays.stream(outgoingEdges).boxed().toList();
-        this.payload = payloadFunction.apply(this);
-    }
-
-    private boolean areSorted(int[] indexes) {
-        for (int i = 1; i < indexes.length; i++) {
-            if (indexes[i] <= indexes[i - 1]) {
-                return false;
-            }
-        }
-        return true;
+    public List<Integer> getOutgoingEdges() {
+        return graph.outgoingEdges(id);
     }
 
     @Override
     public String toString() {
-        return key;
+        return getKey();
     }
 }
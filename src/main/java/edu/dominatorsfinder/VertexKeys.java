@@ -0,0 +1,119 @@
+package edu.dominatorsfinder;
+
+import com.google.common.base.Preconditions;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Vertex keys of a {@link Graph}, stored once as UTF-8 bytes in a single arena: the key of vertex {@code id} is
+ * {@code bytes[offsets[id]] .. bytes[offsets[id + 1] - 1]}. A {@code String} is materialized only on demand
+ * by {@link #key(int)}, e.g. when the results are rendered, so a Graph held in memory costs one byte array
+ * and two int arrays for its keys, rather than a {@code String} per vertex plus a hash map with an entry per vertex.
+ * <p>
+ * Lookup by key goes through an open-addressing hash table with linear probing over the ids,
+ * so it allocates nothing but the UTF-8 bytes of the looked up key.
+ * The keys are immutable, and so they are thread-safe.
+ */
+public final class VertexKeys {
+
+    /** {@link #table} value of an empty slot. NB: the slots keep {@code id + 1}, so a zero-filled table is empty. */
+    private static final int EMPTY = 0;
+
+    private final byte[] bytes;
+    /** {@code offsets.length == size() + 1}. */
+    private final int[] offsets;
+    /** Capacity is a power of 2, at least twice the number of keys, so that the probe sequences stay short. */
+    private final int[] table;
+
+    private VertexKeys(byte[] bytes, int[] offsets) {
+        this.bytes = bytes;
+        this.offsets = offsets;
+        final int size = offsets.length - 1;
+        this.table = new int[Integer.highestOneBit(Math.max(2, size) * 2 - 1) << 1];
+        for (int id = 0; id < size; id++) {
+            insert(id);
+        }
+    }
+
+    /**
+     * @param keys Keys in id order: {@code keys[id]} is the key of vertex {@code id}.
+     * @throws IllegalArgumentException If the keys are not unique.
+     */
+    public static VertexKeys of(String[] keys) {
+        final int[] offsets = new int[keys.length + 1];
+        byte[] bytes = new byte[Math.max(16, keys.length * 4)];
+        int length = 0;
+        for (int id = 0; id < keys.length; id++) {
+            final byte[] keyBytes = keys[id].getBytes(StandardCharsets.UTF_8);
+            if (length + keyBytes.length > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(length + keyBytes.length, 2 * bytes.length));
+            }
+            System.arraycopy(keyBytes, 0, bytes, length, keyBytes.length);
+            length += keyBytes.length;
+            offsets[id + 1] = length;
+        }
+        return new VertexKeys(length == bytes.length ? bytes : Arrays.copyOf(bytes, length), offsets);
+    }
+
+    /**
+     * The keys of the given vertices, copied byte-wise without decoding; see {@link Graph#inducedSubgraph(int[])}.
+     * @param ids Vertex ids; the key of {@code ids[i]} becomes the key of the vertex {@code i}.
+     */
+    VertexKeys subset(int[] ids) {
+        final int[] subOffsets = new int[ids.length + 1];
+        for (int i = 0; i < ids.length; i++) {
+            subOffsets[i + 1] = subOffsets[i] + offsets[ids[i] + 1] - offsets[ids[i]];
+        }
+        final byte[] subBytes = new byte[subOffsets[ids.length]];
+        for (int i = 0; i < ids.length; i++) {
+            System.arraycopy(bytes, offsets[ids[i]], subBytes, subOffsets[i], subOffsets[i + 1] - subOffsets[i]);
+        }
+        return new VertexKeys(subBytes, subOffsets);
+    }
+
+    public int size() {
+        return offsets.length - 1;
+    }
+
+    /** @return A new String of the key of the vertex. */
+    public String key(int id) {
+        return new String(bytes, offsets[id], offsets[id + 1] - offsets[id], StandardCharsets.UTF_8);
+    }
+
+    /** @return The id of the vertex with the given key, or {@code -1} if there is no such vertex. */
+    public int id(String key) {
+        final byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        final int mask = table.length - 1;
+        for (int slot = hash(keyBytes, 0, keyBytes.length) & mask; table[slot] != EMPTY; slot = (slot + 1) & mask) {
+            final int id = table[slot] - 1;
+            if (Arrays.equals(bytes, offsets[id], offsets[id + 1], keyBytes, 0, keyBytes.length)) {
+                return id;
+            }
+        }
+        return -1;
+    }
+
+    private void insert(int id) {
+        final int from = offsets[id];
+        final int to = offsets[id + 1];
+        final int mask = table.length - 1;
+        int slot = hash(bytes, from, to) & mask;
+        while (table[slot] != EMPTY) {
+            final int other = table[slot] - 1;
+            Preconditions.checkArgument(!Arrays.equals(bytes, offsets[other], offsets[other + 1], bytes, from, to),
+                    "Duplicate vertex key [%s].", key(id));
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = id + 1;
+    }
+
+    /** FNV-1a over the bytes, with the high bits folded in, as the table is indexed by the low bits. */
+    private static int hash(byte[] bytes, int from, int to) {
+        int hash = 0x811c9dc5;
+        for (int i = from; i < to; i++) {
+            hash = (hash ^ (bytes[i] & 0xff)) * 0x01000193;
+        }
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,34 @@
+package edu.dominatorsfinder;
+
+/**
+ * Policy of assigning the vertex ids in {@link GraphBuilder}, see {@link GraphBuilder#withVertexLayout(VertexLayout)}.
+ * All the per-vertex arrays of the Graph and of the finders are indexed by id, so the ids of the vertices visited
+ * one after another by a traversal had better be close to each other: then the traversal touches fewer cache lines.
+ * <p>
+ * The traversal orders start from the root: the entry vertex ({@code "e1"}) if given, otherwise the start vertex
+ * ({@code "h"}), otherwise the first vertex of the input; the vertices not reachable from the root get the ids after
+ * the reachable ones, in the same manner (except for {@link #REVERSE_POST_ORDER}, see there). Apart from {@link #KEY_ORDER}, the ids depend on the order of statements
+ * in the input. Whatever the layout, the vertices keep their keys, so the results map back to the keys as usual.
+ */
+public enum VertexLayout {
+    /** Ascending key order: independent of the order of statements in the input, but costs a sort of the keys. The default. */
+    KEY_ORDER,
+    /** Breadth first discovery order: the successors of a vertex get consecutive ids. */
+    BFS,
+    /** Depth first pre-order: the chains of the graph get consecutive ids. */
+    DFS,
+    /**
+     * Reverse post-order of the depth first search: in an acyclic graph every edge goes to a greater id.
+     * This is the order in which the iterative dominator algorithms visit the vertices.
+     * NB: the whole search is reversed, so the vertices not reachable from the root get the ids <em>before</em>
+     * the reachable ones, and the root gets id 0 only if all the vertices are reachable from it: the edges from the
+     * unreachable vertices into the root's tree go to greater ids too.
+     */
+    REVERSE_POST_ORDER,
+    /**
+     * Reverse Cuthill-McKee: breadth first search over the edges taken in both directions, visiting the neighbours
+     * in ascending degree order, then reversed. Minimizes the bandwidth, that is, the id difference along the edges.
+     * Each connected component starts from a vertex of the minimal degree, rather than from the root.
+     */
+    REVERSE_CUTHILL_MCKEE
+}
@@ -0,0 +1,220 @@
+package edu.dominatorsfinder;
+
+import java.util.Arrays;
+
+/**
+ * Computes the vertex orders of the {@link VertexLayout}-s on the CSR adjacency (see {@link Graph}) in {@code O(V + E)}.
+ * Each order is a permutation: {@code order[newId]} is the current id of the vertex that gets {@code newId}.
+ */
+final class VertexOrder {
+
+    /** Length of the runs sorted by insertion before merging, see {@link #byKey(String[])}. */
+    private static final int INSERTION_SORT_RUN = 16;
+
+    private VertexOrder() {
+    }
+
+    /**
+     * The order of {@link VertexLayout#KEY_ORDER}: {@code order[newId]} is the index of the key that gets {@code newId}.
+     * It is a bottom-up merge sort of the primitive indices, so that no boxed index is allocated per vertex.
+     */
+    static int[] byKey(String[] keys) {
+        final int numberOfVertices = keys.length;
+        int[] order = new int[numberOfVertices];
+        Arrays.setAll(order, i -> i);
+        for (int from = 0; from < numberOfVertices; from += INSERTION_SORT_RUN) {
+            final int to = Math.min(from + INSERTION_SORT_RUN, numberOfVertices);
+            for (int i = from + 1; i < to; i++) {
+                final int index = order[i];
+                int j = i - 1;
+                while (j >= from && keys[order[j]].compareTo(keys[index]) > 0) {
+                    order[j + 1] = order[j];
+                    j--;
+                }
+                order[j + 1] = index;
+            }
+        }
+        int[] buffer = new int[numberOfVertices];
+        for (int width = INSERTION_SORT_RUN; width < numberOfVertices; width *= 2) {
+            for (int from = 0; from < numberOfVertices; from += 2 * width) {
+                final int middle = Math.min(from + width, numberOfVertices);
+                final int to = Math.min(from + 2 * width, numberOfVertices);
+                int left = from;
+                int right = middle;
+                for (int i = from; i < to; i++) {
+                    if (right >= to || (left < middle && keys[order[left]].compareTo(keys[order[right]]) <= 0)) {
+                        buffer[i] = order[left++];
+                    } else {
+                        buffer[i] = order[right++];
+                    }
+                }
+            }
+            final int[] merged = buffer;
+            buffer = order;
+            order = merged;
+        }
+        return order;
+    }
+
+    static int[] of(VertexLayout layout, int numberOfVertices, int[] offsets, int[] targets, int rootId) {
+        if (numberOfVertices == 0) {
+            return new int[0];
+        }
+        return switch (layout) {
+            case KEY_ORDER -> throw new IllegalArgumentException("Key order is not a traversal order, see byKey().");
+            case BFS -> breadthFirst(numberOfVertices, offsets, targets, rootId);
+            case DFS -> depthFirst(numberOfVertices, offsets, targets, rootId, false);
+            case REVERSE_POST_ORDER -> depthFirst(numberOfVertices, offsets, targets, rootId, true);
+            case REVERSE_CUTHILL_MCKEE -> reverseCuthillMcKee(numberOfVertices, offsets, targets);
+        };
+    }
+
+    private static int[] breadthFirst(int numberOfVertices, int[] offsets, int[] targets, int rootId) {
+        final boolean[] visited = new boolean[numberOfVertices];
+        // NB: the order itself serves as the BFS queue:
+        final int[] order = new int[numberOfVertices];
+        int tail = 0;
+        // NB: the root goes first, then the vertices not reached yet in the id order:
+        for (int i = -1; i < numberOfVertices; i++) {
+            final int root = (i < 0) ? rootId : i;
+            if (visited[root]) {
+                continue;
+            }
+            visited[root] = true;
+            order[tail++] = root;
+            for (int head = tail - 1; head < tail; head++) {
+                final int id = order[head];
+                for (int e = offsets[id], end = offsets[id + 1]; e < end; e++) {
+                    if (!visited[targets[e]]) {
+                        visited[targets[e]] = true;
+                        order[tail++] = targets[e];
+                    }
+                }
+            }
+        }
+        return order;
+    }
+
+    /**
+     * Non-recursive DFS: pre-order, or reverse post-order. NB: the latter is the reverse of the whole search, so the
+     * trees started later get the lower ids, see {@link VertexLayout#REVERSE_POST_ORDER}.
+     */
+    private static int[] depthFirst(int numberOfVertices, int[] offsets, int[] targets, int rootId, boolean reversePostOrder) {
+        final boolean[] visited = new boolean[numberOfVertices];
+        final int[] stackVertex = new int[numberOfVertices];
+        final int[] stackNextEdge = new int[numberOfVertices];
+        final int[] order = new int[numberOfVertices];
+        int preOrderPosition = 0;
+        int postOrderPosition = numberOfVertices;
+        // NB: the root goes first, then the vertices not reached yet in the id order:
+        for (int i = -1; i < numberOfVertices; i++) {
+            final int root = (i < 0) ? rootId : i;
+            if (visited[root]) {
+                continue;
+            }
+            visited[root] = true;
+            if (!reversePostOrder) {
+                order[preOrderPosition++] = root;
+            }
+            int top = 0;
+            stackVertex[0] = root;
+            stackNextEdge[0] = offsets[root];
+            while (top >= 0) {
+                final int id = stackVertex[top];
+                if (stackNextEdge[top] < offsets[id + 1]) {
+                    final int target = targets[stackNextEdge[top]++];
+                    if (!visited[target]) {
+                        visited[target] = true;
+                        if (!reversePostOrder) {
+                            order[preOrderPosition++] = target;
+                        }
+                        top++;
+                        stackVertex[top] = target;
+                        stackNextEdge[top] = offsets[target];
+                    }
+                } else {
+                    if (reversePostOrder) {
+                        order[--postOrderPosition] = id;
+                    }
+                    top--;
+                }
+            }
+        }
+        return order;
+    }
+
+    private static int[] reverseCuthillMcKee(int numberOfVertices, int[] offsets, int[] targets) {
+        final ReverseAdjacency reverse = ReverseAdjacency.of(numberOfVertices, offsets, targets);
+        final int[] degree = new int[numberOfVertices];
+        int maxDegree = 0;
+        for (int id = 0; id < numberOfVertices; id++) {
+            degree[id] = offsets[id + 1] - offsets[id] + reverse.inDegree(id);
+            maxDegree = Math.max(maxDegree, degree[id]);
+        }
+        final int[] byDegree = sortByDegree(degree, maxDegree);
+        // NB: rank in the degree order, so that sorting the neighbours is sorting ints:
+        final int[] rank = new int[numberOfVertices];
+        for (int r = 0; r < numberOfVertices; r++) {
+            rank[byDegree[r]] = r;
+        }
+
+        final boolean[] visited = new boolean[numberOfVertices];
+        final int[] order = new int[numberOfVertices];
+        int[] neighbourRanks = new int[16];
+        int tail = 0;
+        for (int root: byDegree) {
+            if (visited[root]) {
+                continue;
+            }
+            visited[root] = true;
+            order[tail++] = root;
+            for (int head = tail - 1; head < tail; head++) {
+                final int id = order[head];
+                if (neighbourRanks.length < degree[id]) {
+                    neighbourRanks = new int[Math.max(degree[id], 2 * neighbourRanks.length)];
+                }
+                int count = 0;
+                for (int e = offsets[id], end = offsets[id + 1]; e < end; e++) {
+                    if (!visited[targets[e]]) {
+                        visited[targets[e]] = true;
+                        neighbourRanks[count++] = rank[targets[e]];
+                    }
+                }
+                for (int i = 0, inDegree = reverse.inDegree(id); i < inDegree; i++) {
+                    final int source = reverse.source(id, i);
+                    if (!visited[source]) {
+                        visited[source] = true;
+                        neighbourRanks[count++] = rank[source];
+                    }
+                }
+                Arrays.sort(neighbourRanks, 0, count);
+                for (int i = 0; i < count; i++) {
+                    order[tail++] = byDegree[neighbourRanks[i]];
+                }
+            }
+        }
+        // reverse:
+        for (int i = 0, j = numberOfVertices - 1; i < j; i++, j--) {
+            final int id = order[i];
+            order[i] = order[j];
+            order[j] = id;
+        }
+        return order;
+    }
+
+    /** Counting sort, stable: the vertices of the same degree keep the ascending id order. */
+    private static int[] sortByDegree(int[] degree, int maxDegree) {
+        final int[] start = new int[maxDegree + 2];
+        for (int d: degree) {
+            start[d + 1]++;
+        }
+        for (int d = 0; d <= maxDegree; d++) {
+            start[d + 1] += start[d];
+        }
+        final int[] sorted = new int[degree.length];
+        for (int id = 0; id < degree.length; id++) {
+            sorted[start[degree[id]]++] = id;
+        }
+        return sorted;
+    }
+}
@@ -0,0 +1,69 @@
+package edu.dominatorsfinder.acyclic;
+
+import com.google.common.base.Preconditions;
+import edu.dominatorsfinder.AbstractPostDominatorTreeFinder;
+import edu.dominatorsfinder.Graph;
+import edu.dominatorsfinder.IDominatorsFinder;
+import edu.dominatorsfinder.Vertex;
+
+import java.util.Arrays;
+
+/**
+ * Post-dominator tree of an acyclic Graph in one pass over the vertices in reverse topological order.
+ * <p>
+ * In a DAG all the successors of a vertex come later in the topological order, so when a vertex is processed,
+ * the immediate post-dominators of its successors are already final, and its own immediate post-dominator is the nearest
+ * common ancestor of its successors in the tree built so far. Any tree ancestor comes later in the topological order than
+ * its descendants, so the ancestor is found by repeatedly moving up the vertex with the smaller topological position,
+ * as in the "intersect" of the iterative (Cooper-Harvey-Kennedy) algorithm. Unlike the latter, no second pass is needed.
+ * <p>
+ * The topological order is found once per Graph, when the Graph is built by {@link AcyclicFinderFactory#createGraphBuilder()},
+ * see {@link Graph#isAcyclic()}.
+ */
+public class AcyclicDominatorsFinder extends AbstractPostDominatorTreeFinder implements IDominatorsFinder {
+
+    AcyclicDominatorsFinder(Graph graph, Vertex startVertex, Vertex exitVertex) {
+        super(graph, startVertex, exitVertex);
+        Preconditions.checkArgument(graph.isAcyclic(), "Graph must be acyclic.");
+    }
+
+    @Override
+    protected int[] computeImmediatePostDominators() {
+        final int numberOfVertices = graph.numberOfVertices();
+        final int[] position = new int[numberOfVertices];
+        for (int p = 0; p < numberOfVertices; p++) {
+            position[graph.topologicalOrder(p)] = p;
+        }
+        final int exitId = exitVertex.getId();
+        final int[] immediatePostDominators = new int[numberOfVertices];
+        Arrays.fill(immediatePostDominators, NO_VERTEX);
+
+        // NB: only the vertices preceding the exit vertex in the topological order can reach it:
+        for (int p = position[exitId] - 1; p >= 0; p--) {
+            final int vertexId = graph.topologicalOrder(p);
+            int newIdom = NO_VERTEX;
+            for (int i = 0, degree = graph.outDegree(vertexId); i < degree; i++) {
+                final int successorId = graph.target(vertexId, i);
+                if (successorId == exitId || immediatePostDominators[successorId] != NO_VERTEX) { // can reach the exit
+                    newIdom = (newIdom == NO_VERTEX) ? successorId
+                            : intersect(immediatePostDominators, position, successorId, newIdom);
+                }
+            }
+            immediatePostDominators[vertexId] = newIdom;
+        }
+        return immediatePostDominators;
+    }
+
+    /** @return The nearest common ancestor of the two vertices in the post-dominator tree built so far. */
+    private static int intersect(int[] immediatePostDominators, int[] position, int finger1, int finger2) {
+        while (finger1 != finger2) {
+            while (position[finger1] < position[finger2]) {
+                finger1 = immediatePostDominators[finger1];
+            }
+            while (position[finger2] < position[finger1]) {
+                finger2 = immediatePostDominators[finger2];
+            }
+        }
+        return finger1;
+    }
+}
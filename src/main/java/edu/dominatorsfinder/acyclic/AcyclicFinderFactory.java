@@ -0,0 +1,34 @@
+package edu.dominatorsfinder.acyclic;
+
+import edu.dominatorsfinder.*;
+import edu.dominatorsfinder.seminca.SemiNcaFinderFactory;
+import lombok.NonNull;
+
+/**
+ * Uses {@link AcyclicDominatorsFinder} for the acyclic graphs, and the finders of the given general factory otherwise.
+ */
+public class AcyclicFinderFactory extends AbstractPostDominatorTreeFinderFactory {
+
+    private final AbstractPostDominatorTreeFinderFactory cyclicGraphFactory;
+
+    public AcyclicFinderFactory() {
+        this(new SemiNcaFinderFactory());
+    }
+
+    public AcyclicFinderFactory(@NonNull AbstractPostDominatorTreeFinderFactory cyclicGraphFactory) {
+        this.cyclicGraphFactory = cyclicGraphFactory;
+    }
+
+    @Override
+    public GraphBuilder createGraphBuilder() {
+        return cyclicGraphFactory.createGraphBuilder().withAcyclicityCheck();
+    }
+
+    @Override
+    public AbstractPostDominatorTreeFinder createFinder(Graph graph, Vertex startVertex, Vertex exitVertex) {
+        if (graph.isAcyclic()) {
+            return new AcyclicDominatorsFinder(graph, startVertex, exitVertex);
+        }
+        return cyclicGraphFactory.createFinder(graph, startVertex, exitVertex);
+    }
+}
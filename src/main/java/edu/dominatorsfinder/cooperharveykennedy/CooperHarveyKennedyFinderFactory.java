@@ -0,0 +1,11 @@
+package edu.dominatorsfinder.cooperharveykennedy;
+
+import edu.dominatorsfinder.*;
+
+public class CooperHarveyKennedyFinderFactory extends AbstractPostDominatorTreeFinderFactory {
+
+    @Override
+    public CooperHarveyKennedyDominatorsFinder createFinder(Graph graph, Vertex startVertex, Vertex exitVertex) {
+        return new CooperHarveyKennedyDominatorsFinder(graph, startVertex, exitVertex);
+    }
+}
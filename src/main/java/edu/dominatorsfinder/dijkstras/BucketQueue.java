@@ -0,0 +1,213 @@
+package edu.dominatorsfinder.dijkstras;
+
+import com.google.common.base.Preconditions;
+
+import java.util.Arrays;
+
+/**
+ * Circular bucket queue of vertex ids keyed by long distance (Dial's algorithm). Suitable for Dijkstra's algorithm
+ * with integer edge weights in {@code [0, maxEdgeWeight]}: then all the queued distances lie within
+ * {@code [d, d + maxEdgeWeight]}, where {@code d} is the last polled distance, so {@code maxEdgeWeight + 1} buckets
+ * are enough.
+ * <p>
+ * Each bucket is an intrusive doubly-linked list over int arrays indexed by vertex id, so add, remove and decrease
+ * are {@code O(1)} and allocate nothing. Non-empty buckets are tracked in a two-level bitmap, so that long runs of empty
+ * buckets (typical for heavy weights of {@code |V|}) are skipped 4096 at a time.
+ */
+final class BucketQueue {
+
+    private static final int NONE = -1;
+
+    private final int numberOfBuckets;
+    private final int[] bucketHead;
+    private final int[] next;
+    private final int[] previous;
+    /** Indexed by vertex id: the bucket the vertex is in, or {@link #NONE}. */
+    private final int[] bucketOf;
+    /** Bit {@code b} is set iff bucket {@code b} is not empty. */
+    private final long[] nonEmptyBuckets;
+    /** Bit {@code w} is set iff word {@code w} of {@link #nonEmptyBuckets} is not zero. */
+    private final long[] nonEmptyWords;
+
+    private int size;
+    private int currentBucket;
+    /** The last polled distance, or the first added one before the first poll. */
+    private long currentDistance;
+    private boolean started;
+
+    BucketQueue(int numberOfVertices, int maxEdgeWeight) {
+        Preconditions.checkArgument(maxEdgeWeight >= 0 && maxEdgeWeight < Integer.MAX_VALUE, "Bad max edge weight: %s", maxEdgeWeight);
+        numberOfBuckets = maxEdgeWeight + 1;
+        bucketHead = new int[numberOfBuckets];
+        Arrays.fill(bucketHead, NONE);
+        next = new int[numberOfVertices];
+        previous = new int[numberOfVertices];
+        bucketOf = new int[numberOfVertices];
+        Arrays.fill(bucketOf, NONE);
+        nonEmptyBuckets = new long[(numberOfBuckets + 63) >>> 6];
+        nonEmptyWords = new long[(nonEmptyBuckets.length + 63) >>> 6];
+    }
+
+    int maxEdgeWeight() {
+        return numberOfBuckets - 1;
+    }
+
+    /** The maximum number of vertices, that is, the upper bound of the vertex ids. */
+    int capacity() {
+        return bucketOf.length;
+    }
+
+    /**
+     * Prepares the empty queue for reuse by another search in {@code O(1)}: as all the vertices have been polled,
+     * the buckets and the bitmaps are already clear, so only the distance anchor has to be dropped.
+     */
+    void reset() {
+        Preconditions.checkState(size == 0, "Queue is not empty");
+        currentBucket = 0;
+        currentDistance = 0;
+        started = false;
+    }
+
+    /**
+     * Empties the queue in time proportional to the number of queued vertices (plus the bitmap scan),
+     * and prepares it for reuse like {@link #reset()}. Used when a search stops before the queue runs dry.
+     */
+    void clear() {
+        for (int bucket = nextNonEmpty(0); bucket != NONE; bucket = nextNonEmpty(bucket)) {
+            while (bucketHead[bucket] != NONE) {
+                remove(bucketHead[bucket]);
+            }
+        }
+        assert size == 0 : size;
+        reset();
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean contains(int id) {
+        return bucketOf[id] != NONE;
+    }
+
+    /**
+     * @param distance Must be within {@code [d, d + maxEdgeWeight]}, where {@code d} is the last polled distance
+     * (or the distance of the very first added vertex, if nothing has been polled yet).
+     */
+    void add(int id, long distance) {
+        assert !contains(id) : id;
+        if (!started) {
+            currentDistance = distance;
+            started = true;
+        }
+        final long offset = distance - currentDistance;
+        assert offset >= 0 && offset < numberOfBuckets : offset;
+        int bucket = currentBucket + (int) offset;
+        if (bucket >= numberOfBuckets) {
+            bucket -= numberOfBuckets;
+        }
+
+        final int head = bucketHead[bucket];
+        next[id] = head;
+        previous[id] = NONE;
+        if (head == NONE) {
+            setNonEmpty(bucket);
+        } else {
+            previous[head] = id;
+        }
+        bucketHead[bucket] = id;
+        bucketOf[id] = bucket;
+        size++;
+    }
+
+    void remove(int id) {
+        final int bucket = bucketOf[id];
+        assert bucket != NONE : id;
+        if (previous[id] == NONE) {
+            bucketHead[bucket] = next[id];
+            if (next[id] == NONE) {
+                setEmpty(bucket);
+            }
+        } else {
+            next[previous[id]] = next[id];
+        }
+        if (next[id] != NONE) {
+            previous[next[id]] = previous[id];
+        }
+        bucketOf[id] = NONE;
+        size--;
+    }
+
+    /** Moves the queued vertex to the bucket of the new (smaller) distance. */
+    void decrease(int id, long newDistance) {
+        remove(id);
+        add(id, newDistance);
+    }
+
+    /** @return The minimal queued distance, without removing anything from the queue. */
+    long minDistance() {
+        Preconditions.checkState(size > 0, "Queue is empty");
+        return currentDistance + distanceToBucket(minBucket());
+    }
+
+    /** Removes and returns the id of a vertex with the minimal distance. */
+    int pollMin() {
+        Preconditions.checkState(size > 0, "Queue is empty");
+        final int bucket = minBucket();
+        currentDistance += distanceToBucket(bucket);
+        currentBucket = bucket;
+        final int id = bucketHead[bucket];
+        remove(id);
+        return id;
+    }
+
+    private int minBucket() {
+        final int bucket = nextNonEmpty(currentBucket);
+        return bucket == NONE ? nextNonEmpty(0) : bucket; // wrap around
+    }
+
+    private int distanceToBucket(int bucket) {
+        return (bucket >= currentBucket) ? bucket - currentBucket : bucket + numberOfBuckets - currentBucket;
+    }
+
+    private void setNonEmpty(int bucket) {
+        final int word = bucket >>> 6;
+        nonEmptyBuckets[word] |= 1L << bucket;
+        nonEmptyWords[word >>> 6] |= 1L << word;
+    }
+
+    private void setEmpty(int bucket) {
+        final int word = bucket >>> 6;
+        nonEmptyBuckets[word] &= ~(1L << bucket);
+        if (nonEmptyBuckets[word] == 0) {
+            nonEmptyWords[word >>> 6] &= ~(1L << word);
+        }
+    }
+
+    /** @return The first non-empty bucket {@code >= from}, or {@link #NONE}. */
+    private int nextNonEmpty(int from) {
+        final int fromWord = from >>> 6;
+        final long bits = nonEmptyBuckets[fromWord] & (-1L << from);
+        if (bits != 0) {
+            return (fromWord << 6) + Long.numberOfTrailingZeros(bits);
+        }
+        final int nextWord = fromWord + 1;
+        if (nextWord == nonEmptyBuckets.length) {
+            return NONE;
+        }
+        int summaryIndex = nextWord >>> 6;
+        long summary = nonEmptyWords[summaryIndex] & (-1L << nextWord);
+        while (summary == 0) {
+            if (++summaryIndex == nonEmptyWords.length) {
+                return NONE;
+            }
+            summary = nonEmptyWords[summaryIndex];
+        }
+        final int word = (summaryIndex << 6) + Long.numberOfTrailingZeros(summary);
+        return (word << 6) + Long.numberOfTrailingZeros(nonEmptyBuckets[word]);
+    }
+}
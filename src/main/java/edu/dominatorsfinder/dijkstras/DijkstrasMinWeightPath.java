@@ -1,99 +1,288 @@
 package edu.dominatorsfinder.dijkstras;
 
 import edu.dominatorsfinder.Graph;
-import edu.dominatorsfinder.Vertex;
+import edu.dominatorsfinder.ReverseAdjacency;
 import lombok.NonNull;
 
 import java.util.*;
-import java.util.function.ToIntBiFunction;
 
+/**
+ * Dijkstra's algorithm on a vertex-weighted graph: the weight of an edge is the weight of its target vertex,
+ * as stored in the {@link DijkstrasWorkspace}.
+ * <p>
+ * The search stops as soon as the target vertex is settled, so only the vertices closer to the start than the target
+ * are explored. NB: hence after a search the distances in the workspace are final only for the settled vertices
+ * (including all the vertices of the returned path); the other reached vertices have tentative distances.
+ */
 public class DijkstrasMinWeightPath {
-    public static List<Vertex<DijPayload>> computeMinWeightPath(final Graph<DijPayload> graph, @NonNull Vertex<DijPayload> startVertex, @NonNull Vertex<DijPayload> targetVertex,
-                                                                @NonNull ToIntBiFunction<Vertex<DijPayload>, Vertex<DijPayload>> weightFunction, final int maxEdgeWeight_FoAssertionOnly) {
-        graph.forAllPayloads(DijPayload::clearAllExceptWeights);
 
-        final Comparator<Vertex<DijPayload>> comparator = (@NonNull Vertex<DijPayload> v1, @NonNull Vertex<DijPayload> v2) -> {
-            if (v1 == v2) {
-                return 0;
+    public enum QueueType {
+        /** {@code TreeSet} ordered by (distance, id): {@code O(log(V))} per operation. */
+        TREE_SET,
+        /** Circular bucket queue (Dial's algorithm), see {@link BucketQueue}: {@code O(1)} per relaxation. */
+        BUCKET
+    }
+
+    public enum SearchMode {
+        /** Single search from the start vertex towards the target. */
+        FORWARD,
+        /**
+         * Two searches at once, forward from the start and backward from the target over the reverse adjacency,
+         * until they meet in the middle. Explores about two balls of half the radius instead of one full one,
+         * which pays off on graphs that grow fast with the distance. Works with the {@link QueueType#BUCKET} queue only.
+         * NB: the backward search writes {@link DijkstrasWorkspace#backwardDistance} and {@link DijkstrasWorkspace#next},
+         * the forward one writes {@link DijkstrasWorkspace#distance} and {@link DijkstrasWorkspace#parent}, so none of them
+         * holds the whole path distance.
+         */
+        BIDIRECTIONAL
+    }
+
+    /** Same as {@link #computeMinWeightPath(Graph, int, int, DijkstrasWorkspace, int, QueueType)} with the bucket queue. */
+    public static int[] computeMinWeightPath(final Graph graph, int startId, int targetId,
+                                             @NonNull DijkstrasWorkspace workspace, final int maxWeight) {
+        return computeMinWeightPath(graph, startId, targetId, workspace, maxWeight, QueueType.BUCKET);
+    }
+
+    /** Same as {@link #computeMinWeightPath(Graph, int, int, DijkstrasWorkspace, int, QueueType, SearchMode)} in the forward mode. */
+    public static int[] computeMinWeightPath(final Graph graph, int startId, int targetId,
+                                             @NonNull DijkstrasWorkspace workspace, final int maxWeight,
+                                             @NonNull QueueType queueType) {
+        return computeMinWeightPath(graph, startId, targetId, workspace, maxWeight, queueType, SearchMode.FORWARD);
+    }
+
+    /**
+     * @param workspace Vertex weights are taken from here, must be within {@code [0, maxWeight]};
+     *                  distances and parents are written here. Its capacity must be at least the number of vertices.
+     * @param maxWeight The maximum vertex weight; it determines the number of buckets in the {@link QueueType#BUCKET} queue.
+     * @return Ids of the min weight path vertices from start to target vertex. If the target is unreachable,
+     * the path consists of the target only.
+     */
+    public static int[] computeMinWeightPath(final Graph graph, int startId, int targetId,
+                                             @NonNull DijkstrasWorkspace workspace, final int maxWeight,
+                                             @NonNull QueueType queueType, @NonNull SearchMode searchMode) {
+        if (workspace.capacity() < graph.numberOfVertices()) {
+            throw new IllegalArgumentException("Workspace capacity " + workspace.capacity()
+                    + " is less than the number of vertices " + graph.numberOfVertices());
+        }
+        if (searchMode == SearchMode.BIDIRECTIONAL && queueType != QueueType.BUCKET) {
+            throw new IllegalArgumentException("Bidirectional search is not supported with the " + queueType + " queue");
+        }
+        workspace.startNewSearch();
+
+        if (searchMode == SearchMode.BIDIRECTIONAL) {
+            return computeBidirectional(graph, startId, targetId, workspace, maxWeight);
+        }
+        switch (queueType) {
+            case TREE_SET -> computeDistancesWithTreeSet(graph, startId, targetId, workspace, maxWeight);
+            case BUCKET -> computeDistancesWithBucketQueue(graph, startId, targetId, workspace, maxWeight);
+        }
+
+        return traverseParentPath(workspace, targetId);
+    }
+
+    private static void computeDistancesWithBucketQueue(final Graph graph, int startId, int targetId,
+                                                        DijkstrasWorkspace workspace, final int maxWeight) {
+        final long[] distance = workspace.distance;
+        final int[] stamp = workspace.stamp;
+        final int epoch = workspace.epoch;
+        final int[] weight = workspace.weight;
+        final BucketQueue queue = workspace.bucketQueue(maxWeight);
+
+        workspace.reach(startId, 0, DijkstrasWorkspace.NO_VERTEX);
+        queue.add(startId, 0);
+
+        while (!queue.isEmpty()) {
+            final int vertexId = queue.pollMin();
+            if (vertexId == targetId) {
+                break; // the target is settled, the rest of the queue is farther away
             }
-            int diff = compareTwoNullables(
-                    v1.getPayload().getDistanceFromStart(),
-                    v2.getPayload().getDistanceFromStart());
-            if (diff != 0) {
-                return diff;
+            final long vertexDistance = distance[vertexId]; // NB: any queued vertex is stamped
+
+            final int outDegree = graph.outDegree(vertexId);
+            for (int i = 0; i < outDegree; i++) {
+                final int adjacentId = graph.target(vertexId, i);
+                final int w = checkedWeight(weight, adjacentId, maxWeight);
+                final long newDistance = vertexDistance + w;
+                final boolean reached = stamp[adjacentId] == epoch;
+                if (!reached || newDistance < distance[adjacentId]) {
+                    if (reached) {
+                        queue.decrease(adjacentId, newDistance);
+                    } else {
+                        queue.add(adjacentId, newDistance);
+                    }
+                    workspace.reach(adjacentId, newDistance, vertexId);
+                }
             }
-            diff = Integer.compare(v1.getId(), v2.getId());
+        }
+    }
+
+    private static void computeDistancesWithTreeSet(final Graph graph, int startId, int targetId,
+                                                    DijkstrasWorkspace workspace, final int maxWeight_FoAssertionOnly) {
+        // NB: only the vertices reached in this search are compared, so the distances are read without the stamp check:
+        final long[] distance = workspace.distance;
+        final int[] weight = workspace.weight;
+
+        final Comparator<Integer> comparator = (Integer id1, Integer id2) -> {
+            int diff = Long.compare(distance[id1], distance[id2]);
             if (diff != 0) {
                 return diff;
             }
-            throw new IllegalArgumentException("Different vertices with equal ids.");
+            return Integer.compare(id1, id2);
         };
 
-        // TODO: replace with Fibonacci Heap or vEB tree?
-        final NavigableSet<Vertex<DijPayload>> verticesByDistance = new TreeSet<>(comparator);
+        final NavigableSet<Integer> verticesByDistance = new TreeSet<>(comparator);
 
-        startVertex.getPayload().setDistanceFromStart(0);
-        verticesByDistance.add(startVertex);
+        workspace.reach(startId, 0, DijkstrasWorkspace.NO_VERTEX);
+        verticesByDistance.add(startId);
 
         while (!verticesByDistance.isEmpty()) {
-            //System.out.println("Queue: " + verticesByDistance);
-            final Vertex<DijPayload> vertex = verticesByDistance.pollFirst(); // start Vertex appears first
-
-            List<Integer> outgoingEdges = vertex.getOutgoingEdges();
-            for (Integer adjacentVertexIndex: outgoingEdges) {
-                Vertex<DijPayload> adjacentVertex = graph.vertex(adjacentVertexIndex);
-                int weight = weightFunction.applyAsInt(vertex, adjacentVertex);
-                int newDistance = vertex.getPayload().getDistanceFromStart() + weight;
-                if (adjacentVertex.getPayload().canRelaxTo(newDistance)) {
-                    boolean removed = verticesByDistance.remove(adjacentVertex);
-                    checkQueue(maxEdgeWeight_FoAssertionOnly, verticesByDistance);
-
-                    adjacentVertex.getPayload().relax(vertex, newDistance);
-
-                    boolean added = verticesByDistance.add(adjacentVertex); // *** forces the resorting after distance update
-                    assert added : "Was not added: " + adjacentVertex + ", queue: " + verticesByDistance;
-                    checkQueue(maxEdgeWeight_FoAssertionOnly, verticesByDistance);
+            final int vertexId = verticesByDistance.pollFirst(); // start Vertex appears first
+            if (vertexId == targetId) {
+                break; // the target is settled
+            }
+
+            final int outDegree = graph.outDegree(vertexId);
+            for (int i = 0; i < outDegree; i++) {
+                final int adjacentId = graph.target(vertexId, i);
+                final long newDistance = distance[vertexId] + weight[adjacentId];
+                if (newDistance < workspace.distance(adjacentId)) {
+                    boolean removed = verticesByDistance.remove(adjacentId);
+                    checkQueue(maxWeight_FoAssertionOnly, verticesByDistance, distance);
+
+                    workspace.reach(adjacentId, newDistance, vertexId);
+
+                    boolean added = verticesByDistance.add(adjacentId); // *** forces the resorting after distance update
+                    assert added : "Was not added: " + adjacentId + ", queue: " + verticesByDistance;
+                    checkQueue(maxWeight_FoAssertionOnly, verticesByDistance, distance);
                 }
             }
         }
-
-        return traverseParentPath(graph, targetVertex);
     }
 
-    private static List<Vertex<DijPayload>> traverseParentPath(final Graph<DijPayload> graph, Vertex<DijPayload> target) {
-        Vertex<DijPayload> vertex = target;
-        List<Vertex<DijPayload>> list = new LinkedList<>();
-        list.add(target);
-        while (true) {
-            Integer parentId = vertex.getPayload().getParentVertexId();
-            if (parentId == null) {
-                break;
+    /**
+     * Bidirectional Dijkstra's algorithm: the forward search relaxes the edges {@code u -> v} with weight of {@code v},
+     * the backward one relaxes the same edges from {@code v} to {@code u}, with the same weight of {@code v}.
+     * Each relaxation reaching a vertex already reached by the other search gives a candidate path; the best one
+     * is final once the sum of the minimal queued distances of both searches is not less than its weight.
+     */
+    private static int[] computeBidirectional(final Graph graph, int startId, int targetId,
+                                              DijkstrasWorkspace workspace, final int maxWeight) {
+        workspace.ensureBackwardSearch();
+        final long[] distance = workspace.distance;
+        final int[] stamp = workspace.stamp;
+        final long[] backwardDistance = workspace.backwardDistance;
+        final int[] backwardStamp = workspace.backwardStamp;
+        final int epoch = workspace.epoch;
+        final int[] weight = workspace.weight;
+        final BucketQueue forwardQueue = workspace.bucketQueue(maxWeight);
+        final BucketQueue backwardQueue = workspace.backwardBucketQueue(maxWeight);
+        final ReverseAdjacency reverse = graph.reverseAdjacency();
+
+        workspace.reach(startId, 0, DijkstrasWorkspace.NO_VERTEX);
+        forwardQueue.add(startId, 0);
+        // NB: the path weight does not include the start vertex, but includes the target, so the backward search
+        // starts with 0, and the weight of a vertex is added when the search leaves it:
+        workspace.reachBackward(targetId, 0, DijkstrasWorkspace.NO_VERTEX);
+        backwardQueue.add(targetId, 0);
+
+        long bestDistance = (startId == targetId) ? 0 : DijkstrasWorkspace.INFINITY;
+        int meetingId = (startId == targetId) ? startId : DijkstrasWorkspace.NO_VERTEX;
+
+        // NB: if either queue runs dry, all the paths of that side have been scanned, so the best path is final:
+        while (!forwardQueue.isEmpty() && !backwardQueue.isEmpty()
+                && forwardQueue.minDistance() + backwardQueue.minDistance() < bestDistance) {
+            if (forwardQueue.size() <= backwardQueue.size()) {
+                final int vertexId = forwardQueue.pollMin();
+                final long vertexDistance = distance[vertexId];
+                final int outDegree = graph.outDegree(vertexId);
+                for (int i = 0; i < outDegree; i++) {
+                    final int adjacentId = graph.target(vertexId, i);
+                    final long newDistance = vertexDistance + checkedWeight(weight, adjacentId, maxWeight);
+                    final boolean reached = stamp[adjacentId] == epoch;
+                    if (!reached || newDistance < distance[adjacentId]) {
+                        if (reached) {
+                            forwardQueue.decrease(adjacentId, newDistance);
+                        } else {
+                            forwardQueue.add(adjacentId, newDistance);
+                        }
+                        workspace.reach(adjacentId, newDistance, vertexId);
+                    }
+                    if (backwardStamp[adjacentId] == epoch) {
+                        final long pathDistance = distance[adjacentId] + backwardDistance[adjacentId];
+                        if (pathDistance < bestDistance) {
+                            bestDistance = pathDistance;
+                            meetingId = adjacentId;
+                        }
+                    }
+                }
+            } else {
+                final int vertexId = backwardQueue.pollMin();
+                final long newDistance = backwardDistance[vertexId] + checkedWeight(weight, vertexId, maxWeight);
+                final int inDegree = reverse.inDegree(vertexId);
+                for (int i = 0; i < inDegree; i++) {
+                    final int adjacentId = reverse.source(vertexId, i);
+                    final boolean reached = backwardStamp[adjacentId] == epoch;
+                    if (!reached || newDistance < backwardDistance[adjacentId]) {
+                        if (reached) {
+                            backwardQueue.decrease(adjacentId, newDistance);
+                        } else {
+                            backwardQueue.add(adjacentId, newDistance);
+                        }
+                        workspace.reachBackward(adjacentId, newDistance, vertexId);
+                    }
+                    if (stamp[adjacentId] == epoch) {
+                        final long pathDistance = distance[adjacentId] + backwardDistance[adjacentId];
+                        if (pathDistance < bestDistance) {
+                            bestDistance = pathDistance;
+                            meetingId = adjacentId;
+                        }
+                    }
+                }
             }
-            vertex = graph.vertex(parentId);
-            list.add(vertex);
         }
 
-        Collections.reverse(list);
-        return list;
+        if (meetingId == DijkstrasWorkspace.NO_VERTEX) {
+            return new int[] { targetId }; // unreachable
+        }
+        final int[] forwardPart = traverseParentPath(workspace, meetingId);
+        int length = forwardPart.length;
+        for (int id = workspace.next(meetingId); id != DijkstrasWorkspace.NO_VERTEX; id = workspace.next(id)) {
+            length++;
+        }
+        final int[] path = Arrays.copyOf(forwardPart, length);
+        int i = forwardPart.length;
+        for (int id = workspace.next(meetingId); id != DijkstrasWorkspace.NO_VERTEX; id = workspace.next(id)) {
+            path[i++] = id;
+        }
+        return path;
     }
 
-    private static int compareTwoNullables(Integer x, Integer y) {
-        if (x == null || y == null) {
-            if (x == null && y == null) {
-                return 0;
-            }
-            return (x == null) ? 1 : -1; // null is treated as infinity.
-        } else {
-            return x.compareTo(y);
+    private static int checkedWeight(int[] weight, int id, int maxWeight) {
+        final int w = weight[id];
+        if (w < 0 || w > maxWeight) {
+            throw new IllegalArgumentException("Weight " + w + " is out of range [0, " + maxWeight + "]");
+        }
+        return w;
+    }
+
+    private static int[] traverseParentPath(DijkstrasWorkspace workspace, int targetId) {
+        int length = 1;
+        for (int id = workspace.parent(targetId); id != DijkstrasWorkspace.NO_VERTEX; id = workspace.parent(id)) {
+            length++;
+        }
+        final int[] path = new int[length];
+        int id = targetId;
+        for (int i = length - 1; i >= 0; i--) {
+            path[i] = id;
+            id = workspace.parent(id);
         }
+        return path;
     }
 
-    private static void checkQueue(int maxEdgeWeight, SortedSet<Vertex<DijPayload>> queue) {
+    private static void checkQueue(int maxWeight, SortedSet<Integer> queue, long[] distance) {
         if (queue.size() > 1) {
-            Vertex<DijPayload> first = queue.first();
-            Vertex<DijPayload> last = queue.last();
-            int diff = last.getPayload().getDistanceFromStart() - first.getPayload().getDistanceFromStart();
-            assert diff <= maxEdgeWeight;
+            long diff = distance[queue.last()] - distance[queue.first()];
+            assert diff <= maxWeight;
         }
     }
 
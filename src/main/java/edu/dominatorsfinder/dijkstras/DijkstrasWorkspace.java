@@ -0,0 +1,236 @@
+package edu.dominatorsfinder.dijkstras;
+
+import java.util.Arrays;
+
+/**
+ * Scratch state for {@link DijkstrasMinWeightPath} and "Heavy Vertices Bypass" algorithm: parallel primitive arrays
+ * indexed by vertex id ("struct of arrays") with sentinels instead of nulls, so a run allocates no per-vertex objects.
+ * <p>
+ * The graph is vertex-weighted: the weight of an edge is the weight of its target vertex.
+ * NB: distances are long, because with heavy weights of {@code |V|} a path through many heavy vertices
+ * easily exceeds {@code Integer.MAX_VALUE} on large graphs.
+ * <p>
+ * The workspace is reusable, and nothing in it is ever cleared in {@code O(V)}:
+ * <ul>
+ *     <li>distance and parent of a vertex are valid only if the vertex is stamped with the current search epoch,
+ *     so a new search just increments the epoch, and all the stale entries read as "not reached";</li>
+ *     <li>the vertices whose weight has been changed are recorded in an undo log, and {@link #resetWeights()}
+ *     restores the default weight of those vertices only.</li>
+ * </ul>
+ * So a search costs time proportional to the region it explores, rather than to the graph size.
+ * Use {@link #acquire(int)} / {@link #release()} to get a workspace pooled per thread.
+ * <p>
+ * NB: the workspace is not thread-safe.
+ */
+public final class DijkstrasWorkspace {
+
+    /** Distance of the vertices not reached yet. */
+    public static final long INFINITY = Long.MAX_VALUE;
+    /** Parent of the vertices not reached yet, and of the start vertex. */
+    public static final int NO_VERTEX = -1;
+    /** Weight of the vertices that have not been assigned another one. */
+    public static final int DEFAULT_WEIGHT = 1;
+
+    /** The workspace of the current thread, grown on demand up to the largest graph the thread has processed. */
+    private static final ThreadLocal<DijkstrasWorkspace> THREAD_WORKSPACE = new ThreadLocal<>();
+
+    final long[] distance;
+    final int[] parent;
+    /** {@code distance[v]} and {@code parent[v]} are valid iff {@code stamp[v] == epoch}. */
+    final int[] stamp;
+    /** NB: stamps are zero-initialized, so the epoch starts with 1 to make all the vertices "not reached". */
+    int epoch = 1;
+    final int[] weight;
+
+    /**
+     * The backward search of the bidirectional mode: distance to the target and the next vertex on the path
+     * to the target, valid iff {@code backwardStamp[v] == epoch}. Allocated on the first bidirectional search.
+     */
+    long[] backwardDistance;
+    int[] next;
+    int[] backwardStamp;
+
+    /** Undo log: ids of the vertices whose weight may differ from {@link #DEFAULT_WEIGHT}. */
+    private int[] changedWeights = new int[16];
+    private int changedWeightCount;
+
+    /** Queues reused by the subsequent searches with the same max weight. */
+    private BucketQueue bucketQueue;
+    private BucketQueue backwardBucketQueue;
+    private boolean acquired;
+
+    public DijkstrasWorkspace(int numberOfVertices) {
+        distance = new long[numberOfVertices];
+        parent = new int[numberOfVertices];
+        stamp = new int[numberOfVertices];
+        weight = new int[numberOfVertices];
+        Arrays.fill(weight, DEFAULT_WEIGHT);
+    }
+
+    /**
+     * Takes the workspace of the current thread, allocating a new one if the pooled one is too small.
+     * The weights of the returned workspace are all {@link #DEFAULT_WEIGHT}.
+     * Must be paired with {@link #release()}, normally in a {@code finally} block.
+     * @param numberOfVertices The number of vertices of the graph to be processed.
+     */
+    public static DijkstrasWorkspace acquire(int numberOfVertices) {
+        DijkstrasWorkspace workspace = THREAD_WORKSPACE.get();
+        if (workspace != null && workspace.acquired) {
+            // NB: nested use on the same thread, so the pooled workspace is busy: give out a private one.
+            workspace = new DijkstrasWorkspace(numberOfVertices);
+        } else if (workspace == null || workspace.capacity() < numberOfVertices) {
+            workspace = new DijkstrasWorkspace(numberOfVertices);
+            THREAD_WORKSPACE.set(workspace);
+        }
+        workspace.acquired = true;
+        return workspace;
+    }
+
+    /** Restores the default weights and returns the workspace to the pool of the current thread. */
+    public void release() {
+        resetWeights();
+        acquired = false;
+    }
+
+    /** The maximum number of vertices this workspace can serve; can be greater than the size of the processed graph. */
+    public int capacity() {
+        return weight.length;
+    }
+
+    /** Makes all the vertices "not reached" in {@code O(1)}, weights are not affected. */
+    void startNewSearch() {
+        epoch++;
+        if (epoch == 0) {
+            // NB: the stamps wrapped around after 2^32 searches, so the stale stamps could become valid again:
+            Arrays.fill(stamp, 0);
+            if (backwardStamp != null) {
+                Arrays.fill(backwardStamp, 0);
+            }
+            epoch = 1;
+        }
+    }
+
+    void reach(int id, long newDistance, int newParent) {
+        stamp[id] = epoch;
+        distance[id] = newDistance;
+        parent[id] = newParent;
+    }
+
+    void reachBackward(int id, long newDistance, int newNext) {
+        backwardStamp[id] = epoch;
+        backwardDistance[id] = newDistance;
+        next[id] = newNext;
+    }
+
+    /** Allocates the arrays of the backward search, if not yet. */
+    void ensureBackwardSearch() {
+        if (backwardStamp == null) {
+            backwardDistance = new long[capacity()];
+            next = new int[capacity()];
+            // NB: zero stamps are never valid, as the epoch is never 0:
+            backwardStamp = new int[capacity()];
+        }
+    }
+
+    /**
+     * @return The queue for the given max weight. It is allocated once and reused while the max weight stays the same,
+     * so a search does not pay {@code O(V)} for the queue allocation.
+     */
+    BucketQueue bucketQueue(int maxWeight) {
+        bucketQueue = reuseOrCreate(bucketQueue, maxWeight);
+        return bucketQueue;
+    }
+
+    /** Same as {@link #bucketQueue(int)}, for the backward search of the bidirectional mode. */
+    BucketQueue backwardBucketQueue(int maxWeight) {
+        backwardBucketQueue = reuseOrCreate(backwardBucketQueue, maxWeight);
+        return backwardBucketQueue;
+    }
+
+    private BucketQueue reuseOrCreate(BucketQueue queue, int maxWeight) {
+        if (queue == null || queue.maxEdgeWeight() != maxWeight || queue.capacity() < capacity()) {
+            return new BucketQueue(capacity(), maxWeight);
+        }
+        if (queue.isEmpty()) {
+            queue.reset();
+        } else {
+            // NB: the previous search stopped as soon as the target had been settled, or was aborted with an exception:
+            queue.clear();
+        }
+        return queue;
+    }
+
+    /** @return The distance from the start of the last search, or {@link #INFINITY} if the vertex has not been reached. */
+    public long distance(int id) {
+        return stamp[id] == epoch ? distance[id] : INFINITY;
+    }
+
+    /** @return The parent on the min weight path of the last search, or {@link #NO_VERTEX}. */
+    public int parent(int id) {
+        return stamp[id] == epoch ? parent[id] : NO_VERTEX;
+    }
+
+    /**
+     * @return The distance to the target found by the backward half of the last bidirectional search,
+     * or {@link #INFINITY} if the vertex has not been reached by it.
+     */
+    public long backwardDistance(int id) {
+        return backwardStamp != null && backwardStamp[id] == epoch ? backwardDistance[id] : INFINITY;
+    }
+
+    /** @return The next vertex towards the target found by the backward half of the last bidirectional search, or {@link #NO_VERTEX}. */
+    public int next(int id) {
+        return backwardStamp != null && backwardStamp[id] == epoch ? next[id] : NO_VERTEX;
+    }
+
+    public int weight(int id) {
+        return weight[id];
+    }
+
+    public void setWeight(int id, int newWeight) {
+        logWeightChange(id);
+        weight[id] = newWeight;
+    }
+
+    /** Restores {@link #DEFAULT_WEIGHT} of all the vertices in time proportional to the number of changed weights. */
+    public void resetWeights() {
+        for (int i = 0; i < changedWeightCount; i++) {
+            weight[changedWeights[i]] = DEFAULT_WEIGHT;
+        }
+        changedWeightCount = 0;
+    }
+
+    /**
+     * Drops the heavy weight of a vertex unless it has been marked with {@link #markIfHeavy}; for a marked vertex
+     * the mark is removed, and the heavy weight is restored.
+     * @return {@code true} if the weight has been dropped.
+     */
+    public boolean dropWeightExcludingMarked(int id) {
+        final int w = weight[id];
+        if (w > 0) {
+            assert w > DEFAULT_WEIGHT : w;
+            weight[id] = DEFAULT_WEIGHT;
+            return true; // weight dropped
+        } else {
+            weight[id] = -w;
+            return false; // restored heavy weight
+        }
+    }
+
+    public void markIfHeavy(int id) {
+        if (weight[id] > DEFAULT_WEIGHT) {
+            // NB: the vertex is already in the undo log, as its weight is not the default one:
+            weight[id] = -weight[id];
+        }
+    }
+
+    private void logWeightChange(int id) {
+        if (weight[id] != DEFAULT_WEIGHT) {
+            return; // already logged
+        }
+        if (changedWeightCount == changedWeights.length) {
+            changedWeights = Arrays.copyOf(changedWeights, 2 * changedWeights.length);
+        }
+        changedWeights[changedWeightCount++] = id;
+    }
+}
@@ -1,20 +1,31 @@
 package edu.dominatorsfinder.heavyverticesbypass;
 
+import com.google.common.base.Preconditions;
 import edu.dominatorsfinder.*;
-import edu.dominatorsfinder.dijkstras.DijPayload;
+import edu.dominatorsfinder.dijkstras.DijkstrasMinWeightPath;
 
-public class HeavyBypassFinderFactory extends AbstractFinderFactory<DijPayload> {
+public class HeavyBypassFinderFactory extends AbstractFinderFactory {
 
-    @Override
-    public GraphBuilder<DijPayload> createGraphBuilder() {
-        GraphBuilder<DijPayload> graphBuilder = new GraphBuilder<>();
-        graphBuilder.withPayloadFactoryFunction(DijPayload::new);
-        return graphBuilder;
+    private final DijkstrasMinWeightPath.QueueType queueType;
+    private final DijkstrasMinWeightPath.SearchMode searchMode;
+
+    public HeavyBypassFinderFactory() {
+        this(DijkstrasMinWeightPath.QueueType.BUCKET);
+    }
+
+    public HeavyBypassFinderFactory(DijkstrasMinWeightPath.QueueType queueType) {
+        this(queueType, DijkstrasMinWeightPath.SearchMode.FORWARD);
+    }
+
+    public HeavyBypassFinderFactory(DijkstrasMinWeightPath.QueueType queueType, DijkstrasMinWeightPath.SearchMode searchMode) {
+        Preconditions.checkArgument(searchMode == DijkstrasMinWeightPath.SearchMode.FORWARD
+                || queueType == DijkstrasMinWeightPath.QueueType.BUCKET, "%s search requires the bucket queue", searchMode);
+        this.queueType = queueType;
+        this.searchMode = searchMode;
     }
 
     @Override
-    public IDominatorsFinder<DijPayload> createFinder(Graph<DijPayload> graph,
-                                                         Vertex<DijPayload> startVertex, Vertex<DijPayload> exitVertex) {
-        return new HeavyVerticesBypassDominatorsFinder(graph, startVertex, exitVertex);
+    public IDominatorsFinder createFinder(Graph graph, Vertex startVertex, Vertex exitVertex) {
+        return new HeavyVerticesBypassDominatorsFinder(graph, startVertex, exitVertex, queueType, searchMode);
     }
 }
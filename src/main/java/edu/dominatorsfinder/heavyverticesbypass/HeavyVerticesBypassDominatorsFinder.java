@@ -4,19 +4,24 @@ import edu.dominatorsfinder.AbstractDominatorsFinder;
 import edu.dominatorsfinder.Graph;
 import edu.dominatorsfinder.IDominatorsFinder;
 import edu.dominatorsfinder.Vertex;
-import edu.dominatorsfinder.dijkstras.DijPayload;
 import edu.dominatorsfinder.dijkstras.DijkstrasMinWeightPath;
-import lombok.val;
+import edu.dominatorsfinder.dijkstras.DijkstrasWorkspace;
+import lombok.extern.log4j.Log4j2;
 
 import java.util.*;
-import java.util.function.ToIntBiFunction;
 
-import static com.google.common.collect.Iterables.getLast;
+@Log4j2
+public class HeavyVerticesBypassDominatorsFinder extends AbstractDominatorsFinder implements IDominatorsFinder {
 
-public class HeavyVerticesBypassDominatorsFinder extends AbstractDominatorsFinder<DijPayload> implements IDominatorsFinder<DijPayload> {
+    private final DijkstrasMinWeightPath.QueueType queueType;
+    private final DijkstrasMinWeightPath.SearchMode searchMode;
 
-    HeavyVerticesBypassDominatorsFinder(Graph<DijPayload> graph, Vertex<DijPayload> startVertex, Vertex<DijPayload> exitVertex) {
+    HeavyVerticesBypassDominatorsFinder(Graph graph, Vertex startVertex, Vertex exitVertex,
+                                        DijkstrasMinWeightPath.QueueType queueType,
+                                        DijkstrasMinWeightPath.SearchMode searchMode) {
         super(graph, startVertex, exitVertex);
+        this.queueType = queueType;
+        this.searchMode = searchMode;
     }
 
     private int heavyWeight() {
@@ -24,78 +29,101 @@ public class HeavyVerticesBypassDominatorsFinder extends AbstractDominatorsFinde
     }
 
     @Override
-    public List<Vertex<DijPayload>> computeDominators() {
+    public List<Vertex> computeDominators() {
         if (startVertex == exitVertex) {
             return List.of(); // shortcut for trivial case
         }
-        final ToIntBiFunction<Vertex<DijPayload>, Vertex<DijPayload>> weightFunction = (v1, v2) -> v2.getPayload().getWeight();
+        // NB: the pooled workspace is never cleared in O(V), so repeated queries only pay for the explored region:
+        final DijkstrasWorkspace workspace = DijkstrasWorkspace.acquire(graph.numberOfVertices());
+        try {
+            return computeDominators(workspace);
+        } finally {
+            workspace.release(); // restores the default weights
+        }
+    }
 
-        List<Vertex<DijPayload>> minWeightPath = DijkstrasMinWeightPath.computeMinWeightPath(graph, startVertex, exitVertex, weightFunction, heavyWeight());
-        assert isExitVertex(getLast(minWeightPath));
-        if (!isStartVertex(minWeightPath.get(0))) {
+    private List<Vertex> computeDominators(DijkstrasWorkspace workspace) {
+        final int startId = startVertex.getId();
+        final int exitId = exitVertex.getId();
+
+        int[] minWeightPath = DijkstrasMinWeightPath.computeMinWeightPath(graph, startId, exitId, workspace, heavyWeight(), queueType, searchMode);
+        assert minWeightPath[minWeightPath.length - 1] == exitId;
+        if (minWeightPath[0] != startId) {
             throw new IllegalArgumentException("Exit vertex [" + exitVertex + "] appears to be unreachable from the start node [" + startVertex + "]");
         }
-        assert minWeightPath.size() >= 2;
+        assert minWeightPath.length >= 2;
 
-        final LinkedList<Vertex<DijPayload>> heavyVertices = new LinkedList<>(minWeightPath);
-        setHeavyWeight(heavyVertices);
-        int heavyCount = heavyVertices.size();
+        // NB: the heavy vertices are kept in path order in the beginning of this array:
+        final int[] heavyVertices = minWeightPath;
+        setHeavyWeight(workspace, heavyVertices, heavyVertices.length);
+        int heavyCount = heavyVertices.length;
         int findingMinimalPathIterationCount = 1;
 
         while (true) {
-            minWeightPath = DijkstrasMinWeightPath.computeMinWeightPath(graph, startVertex, exitVertex, weightFunction, heavyWeight());
-            assert isStartVertex(minWeightPath.get(0));
-            assert isExitVertex(getLast(minWeightPath));
-            assert minWeightPath.size() >= 2;
+            minWeightPath = DijkstrasMinWeightPath.computeMinWeightPath(graph, startId, exitId, workspace, heavyWeight(), queueType, searchMode);
+            assert minWeightPath[0] == startId;
+            assert minWeightPath[minWeightPath.length - 1] == exitId;
+            assert minWeightPath.length >= 2;
             findingMinimalPathIterationCount++;
 
             // NB: this technique is used to intersect 2 lists in (N + M) time: mark heavy vertices in the found path,
             // then drop all not marked from 'heavyVertices' list:
-            markIfHeavy(minWeightPath);
-            int droppedCount = dropUnmarkedHeavy(heavyVertices);
+            markIfHeavy(workspace, minWeightPath);
+            final int newHeavyCount = dropUnmarkedHeavy(workspace, heavyVertices, heavyCount);
 
-            System.out.println(findingMinimalPathIterationCount + ": Drop heavy: " + heavyCount + " - " + droppedCount + " = " + heavyVertices.size());
+            if (log.isTraceEnabled()) { // NB: the check spares the boxing on every iteration
+                log.trace("{}: Drop heavy: {} - {} = {}", findingMinimalPathIterationCount, heavyCount,
+                        heavyCount - newHeavyCount, newHeavyCount);
+            }
 
-            if (heavyVertices.size() == 2) {
-                assert isStartVertex(heavyVertices.get(0));
-                assert isExitVertex(heavyVertices.get(1));
+            if (newHeavyCount == 2) {
+                assert heavyVertices[0] == startId;
+                assert heavyVertices[1] == exitId;
+                heavyCount = newHeavyCount;
                 break; // There are no Dominators (list contains only first and last node)
-            } else if (heavyVertices.size() == heavyCount) {
+            } else if (newHeavyCount == heavyCount) {
                 // heavy list did not change in last iteration, so it contains only Dominators:
                 break;
             } else {
-                heavyCount = heavyVertices.size();
+                heavyCount = newHeavyCount;
             }
         }
 
         // NB: it is possible to prove that the number of this algorithm iterations never exceeds 4:
         assert findingMinimalPathIterationCount <= 4 : findingMinimalPathIterationCount;
 
-        filterOutStartVertex(heavyVertices);
-        return List.copyOf(heavyVertices);
+        final List<Vertex> dominators = new ArrayList<>(heavyCount);
+        for (int i = 0; i < heavyCount; i++) {
+            dominators.add(graph.vertex(heavyVertices[i]));
+        }
+        filterOutStartVertex(dominators);
+        return List.copyOf(dominators);
     }
 
-    void setHeavyWeight(Collection<Vertex<DijPayload>> vertices) {
-        int heavyWeight = heavyWeight();
-        vertices.forEach(v -> v.getPayload().setWeight(heavyWeight));
+    void setHeavyWeight(DijkstrasWorkspace workspace, int[] vertices, int count) {
+        final int heavyWeight = heavyWeight();
+        for (int i = 0; i < count; i++) {
+            workspace.setWeight(vertices[i], heavyWeight);
+        }
     }
 
-    void markIfHeavy(Collection<Vertex<DijPayload>> path) {
-        path.forEach(v -> v.getPayload().markIfHeavy());
+    void markIfHeavy(DijkstrasWorkspace workspace, int[] path) {
+        for (int id: path) {
+            workspace.markIfHeavy(id);
+        }
     }
 
-    int dropUnmarkedHeavy(LinkedList<Vertex<DijPayload>> heavyVertices) {
-        Iterator<Vertex<DijPayload>> it = heavyVertices.iterator();
-        val initialSize = heavyVertices.size();
-        int droppedCount = 0;
-        while (it.hasNext()) {
-            Vertex<DijPayload> v = it.next();
-            if (v.getPayload().dropWeightExcludingMarked()) {
-                it.remove();
-                droppedCount++;
+    /**
+     * Drops the heavy vertices that have not been marked, compacting the array in place.
+     * @return The new number of heavy vertices.
+     */
+    int dropUnmarkedHeavy(DijkstrasWorkspace workspace, int[] heavyVertices, int heavyCount) {
+        int writePosition = 0;
+        for (int i = 0; i < heavyCount; i++) {
+            if (!workspace.dropWeightExcludingMarked(heavyVertices[i])) {
+                heavyVertices[writePosition++] = heavyVertices[i];
             }
         }
-        assert initialSize - droppedCount == heavyVertices.size();
-        return droppedCount;
+        return writePosition;
     }
 }
@@ -0,0 +1,174 @@
+package edu.dominatorsfinder.lengauertarjan;
+
+import edu.dominatorsfinder.AbstractPostDominatorTreeFinder;
+import edu.dominatorsfinder.Graph;
+import edu.dominatorsfinder.IDominatorsFinder;
+import edu.dominatorsfinder.Vertex;
+
+import java.util.Arrays;
+
+/**
+ * Lengauer-Tarjan algorithm, as per paper "A Fast Algorithm for Finding Dominators in a Flowgraph"
+ * by T. Lengauer and R.E. Tarjan, applied to the reversed graph rooted at the exit vertex.
+ * <p>
+ * All the per-vertex data is kept in int arrays indexed by the DFS number (1-based, 0 stands for "no vertex");
+ * both DFS and path compression are iterative, so deep graphs do not overflow the thread stack.
+ */
+public class LengauerTarjanDominatorsFinder extends AbstractPostDominatorTreeFinder implements IDominatorsFinder {
+
+    public enum LinkEval {
+        /** Simple path compression: {@code O(E log(V))}. */
+        SIMPLE,
+        /** Path compression on balanced trees: {@code O(E alpha(E, V))}. */
+        BALANCED
+    }
+
+    private final LinkEval linkEval;
+
+    /** Vertex id -> DFS number, 0 for the vertices unreachable in the reversed graph. */
+    private int[] number;
+    /** DFS number -> vertex id. */
+    private int[] vertexByNumber;
+    private int[] parent;
+    private int[] semi;
+    private int[] label;
+    private int[] ancestor;
+    private int[] idom;
+    /** Buckets are singly-linked lists: head by DFS number of the semi-dominator, next by DFS number. */
+    private int[] bucketHead;
+    private int[] bucketNext;
+    private int[] size;
+    private int[] child;
+    private int[] compressStack;
+
+    LengauerTarjanDominatorsFinder(Graph graph, Vertex startVertex, Vertex exitVertex, LinkEval linkEval) {
+        super(graph, startVertex, exitVertex);
+        this.linkEval = linkEval;
+    }
+
+    @Override
+    protected int[] computeImmediatePostDominators() {
+        final int numberOfVertices = graph.numberOfVertices();
+        allocate(numberOfVertices);
+
+        final int count = graph.reverseAdjacency().depthFirstPreOrder(exitVertex.getId(), number, vertexByNumber, parent);
+        for (int w = 1; w <= count; w++) {
+            semi[w] = w;
+            label[w] = w;
+            size[w] = 1;
+        }
+
+        for (int w = count; w >= 2; w--) {
+            // NB: predecessors in the reversed graph are the successors in the original one:
+            final int vertexId = vertexByNumber[w];
+            for (int i = 0, degree = graph.outDegree(vertexId); i < degree; i++) {
+                final int v = number[graph.target(vertexId, i)];
+                if (v != 0) { // skip the vertices that cannot reach the exit
+                    final int u = eval(v);
+                    if (semi[u] < semi[w]) {
+                        semi[w] = semi[u];
+                    }
+                }
+            }
+            bucketNext[w] = bucketHead[semi[w]];
+            bucketHead[semi[w]] = w;
+
+            final int p = parent[w];
+            link(p, w);
+
+            for (int v = bucketHead[p]; v != 0; v = bucketNext[v]) {
+                final int u = eval(v);
+                idom[v] = (semi[u] < semi[v]) ? u : p;
+            }
+            bucketHead[p] = 0;
+        }
+
+        for (int w = 2; w <= count; w++) {
+            if (idom[w] != semi[w]) {
+                idom[w] = idom[idom[w]];
+            }
+        }
+
+        final int[] immediatePostDominators = new int[numberOfVertices];
+        Arrays.fill(immediatePostDominators, NO_VERTEX);
+        for (int w = 2; w <= count; w++) {
+            immediatePostDominators[vertexByNumber[w]] = vertexByNumber[idom[w]];
+        }
+        return immediatePostDominators;
+    }
+
+    private void allocate(int numberOfVertices) {
+        number = new int[numberOfVertices];
+        vertexByNumber = new int[numberOfVertices + 1];
+        parent = new int[numberOfVertices + 1];
+        semi = new int[numberOfVertices + 1];
+        label = new int[numberOfVertices + 1];
+        ancestor = new int[numberOfVertices + 1];
+        idom = new int[numberOfVertices + 1];
+        bucketHead = new int[numberOfVertices + 1];
+        bucketNext = new int[numberOfVertices + 1];
+        size = new int[numberOfVertices + 1];
+        child = new int[numberOfVertices + 1];
+        compressStack = new int[numberOfVertices + 1];
+    }
+
+    private int eval(int v) {
+        if (ancestor[v] == 0) {
+            return (linkEval == LinkEval.SIMPLE) ? v : label[v];
+        }
+        compress(v);
+        if (linkEval == LinkEval.SIMPLE) {
+            return label[v];
+        }
+        return (semi[label[ancestor[v]]] >= semi[label[v]]) ? label[v] : label[ancestor[v]];
+    }
+
+    /** Iterative version of the recursive path compression from the paper. */
+    private void compress(int v) {
+        int top = 0;
+        int x = v;
+        while (ancestor[ancestor[x]] != 0) {
+            compressStack[top++] = x;
+            x = ancestor[x];
+        }
+        // the vertices closest to the forest root are processed first, as in the recursive version:
+        while (top > 0) {
+            x = compressStack[--top];
+            final int a = ancestor[x];
+            if (semi[label[a]] < semi[label[x]]) {
+                label[x] = label[a];
+            }
+            ancestor[x] = ancestor[a];
+        }
+    }
+
+    private void link(int v, int w) {
+        if (linkEval == LinkEval.SIMPLE) {
+            ancestor[w] = v;
+            return;
+        }
+        // NB: number 0 serves as a sentinel with semi[0] == label[0] == size[0] == 0:
+        int s = w;
+        while (semi[label[w]] < semi[label[child[s]]]) {
+            if (size[s] + size[child[child[s]]] >= 2 * size[child[s]]) {
+                ancestor[child[s]] = s;
+                child[s] = child[child[s]];
+            } else {
+                size[child[s]] = size[s];
+                ancestor[s] = child[s];
+                s = child[s];
+            }
+        }
+        label[s] = label[w];
+        size[v] += size[w];
+        if (size[v] < 2 * size[w]) {
+            final int t = s;
+            s = child[v];
+            child[v] = t;
+        }
+        while (s != 0) {
+            ancestor[s] = v;
+            s = child[s];
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package edu.dominatorsfinder.lengauertarjan;
+
+import edu.dominatorsfinder.*;
+
+public class LengauerTarjanFinderFactory extends AbstractPostDominatorTreeFinderFactory {
+
+    private final LengauerTarjanDominatorsFinder.LinkEval linkEval;
+
+    public LengauerTarjanFinderFactory() {
+        this(LengauerTarjanDominatorsFinder.LinkEval.BALANCED);
+    }
+
+    public LengauerTarjanFinderFactory(LengauerTarjanDominatorsFinder.LinkEval linkEval) {
+        this.linkEval = linkEval;
+    }
+
+    @Override
+    public LengauerTarjanDominatorsFinder createFinder(Graph graph, Vertex startVertex, Vertex exitVertex) {
+        return new LengauerTarjanDominatorsFinder(graph, startVertex, exitVertex, linkEval);
+    }
+}
@@ -25,42 +25,75 @@ public class DepthFirstSearch {
          * @return for forward direction (down the stack): {@code true} if we should traverse further, of {@code false} otherwise.
          * for backward direction (up the stack) the return value is ignored.
          */
-        boolean apply(int time, @Nullable Vertex<DfsPayload> fromVertex, Vertex<DfsPayload> toVertex);
+        boolean apply(int time, @Nullable Vertex fromVertex, Vertex toVertex);
     }
 
-    private final Graph<DfsPayload> graph;
+    /** The start and finish times are stored in the payloads of this context, the Graph itself is not modified. */
+    private final DfsContext context;
     private final EdgeFunction preProcessFunction;
     private final EdgeFunction postProcessFunction;
 
+    /**
+     * Explicit DFS stack of (vertex id, index of the next outgoing edge to traverse) frames.
+     * Allocated on the first traverse and reused by the subsequent ones: as only WHITE vertices are pushed,
+     * the stack depth never exceeds the number of vertices.
+     */
+    private int[] stackVertex;
+    private int[] stackNextEdge;
+
     /**
      * Does the DFS traverse from the specified vertex.
+     * The traverse is non-recursive, so the depth of the graph is not limited by the thread stack size.
+     * The callbacks are invoked in exactly the same order and with the same times as by the recursive algorithm:
+     * each examined edge and each vertex finish advance the time by 1.
      * @param vertex The Vertex to start from.
      * @return The "time" counter value.
      */
-    public int dfsFrom(final Vertex<DfsPayload> vertex) {
-        return dfsRecursive(0, null, vertex);
-    }
-
-    private int dfsRecursive(int time, final @Nullable Vertex<DfsPayload> currentVertex, final Vertex<DfsPayload> discoveredVertex) {
-        time++;
+    public int dfsFrom(final Vertex vertex) {
+        final Graph graph = context.getGraph();
+        if (stackVertex == null) {
+            stackVertex = new int[graph.numberOfVertices()];
+            stackNextEdge = new int[graph.numberOfVertices()];
+        }
+        int top = -1;
+        int time = 1;
         // NB: notice "&&" below: time is not updated (vertex stays white) if preProcessFunction says we should not visit it:
-        if (preProcessFunction.apply(time, currentVertex, discoveredVertex)
-                && preUpdateTime(time, currentVertex, discoveredVertex)) {
+        if (preProcessFunction.apply(time, null, vertex) && preUpdateTime(time, null, vertex)) {
+            top++;
+            stackVertex[top] = vertex.getId();
+            stackNextEdge[top] = 0;
+        }
 
-            for (Vertex<DfsPayload> outVertex: graph.outgoingVertices(discoveredVertex)) {
-                time = dfsRecursive(time, discoveredVertex, outVertex);
+        while (top >= 0) {
+            final int currentId = stackVertex[top];
+            final int edgeIndex = stackNextEdge[top];
+            if (edgeIndex < graph.outDegree(currentId)) {
+                stackNextEdge[top] = edgeIndex + 1;
+                final Vertex currentVertex = graph.vertex(currentId);
+                final Vertex discoveredVertex = graph.vertex(graph.target(currentId, edgeIndex));
+                time++;
+                if (preProcessFunction.apply(time, currentVertex, discoveredVertex)
+                        && preUpdateTime(time, currentVertex, discoveredVertex)) {
+                    top++;
+                    stackVertex[top] = discoveredVertex.getId();
+                    stackNextEdge[top] = 0;
+                }
+            } else {
+                // all the edges are traversed, finish the vertex:
+                final Vertex finishedVertex = graph.vertex(currentId);
+                final @Nullable Vertex parentVertex = (top > 0) ? graph.vertex(stackVertex[top - 1]) : null;
+                top--;
+                time++;
+                postUpdateTime(time, parentVertex, finishedVertex);
+                postProcessFunction.apply(time, parentVertex, finishedVertex);
             }
-
-            time++;
-            postUpdateTime(time, currentVertex, discoveredVertex);
-            postProcessFunction.apply(time, currentVertex, discoveredVertex);
         }
         return time;
     }
 
-    public boolean preUpdateTime(int time, @Nullable Vertex<DfsPayload> currentVertex, Vertex<DfsPayload> discoveredVertex) {
-        if (discoveredVertex.getPayload().getColor() == DfsPayload.VertexColor.WHITE) {
-            discoveredVertex.getPayload().setDfsStartTime(time);
+    public boolean preUpdateTime(int time, @Nullable Vertex currentVertex, Vertex discoveredVertex) {
+        if (context.payload(discoveredVertex).getColor() == DfsPayload.VertexColor.WHITE) {
+            context.payload(discoveredVertex).setDfsStartTime(time);
 
             return true; // visit it!
         }
@@ -68,8 +101,8 @@ public class DepthFirstSearch {
         return false; // GREY or BLACK: already visited or being processed, do not visit again.
     }
 
-    public void postUpdateTime(int time, @Nullable Vertex<DfsPayload> currentVertex, Vertex<DfsPayload> discoveredVertex) {
-        discoveredVertex.getPayload().setDfsFinishTime(time);
+    public void postUpdateTime(int time, @Nullable Vertex currentVertex, Vertex discoveredVertex) {
+        context.payload(discoveredVertex).setDfsFinishTime(time);
     }
 
 }
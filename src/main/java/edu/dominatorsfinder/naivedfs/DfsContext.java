@@ -0,0 +1,51 @@
+package edu.dominatorsfinder.naivedfs;
+
+import edu.dominatorsfinder.Graph;
+import edu.dominatorsfinder.Vertex;
+
+import java.util.function.Consumer;
+
+/**
+ * Per-query state of the DFS-based algorithm: the {@link DfsPayload} of each vertex of the Graph.
+ * The Graph itself is never modified, so any number of contexts (and threads) can work on the same Graph at once.
+ * <p>
+ * A payload is created on the first access, so only the vertices visited by the query get one.
+ * NB: the context is not thread-safe, it must be confined to the thread doing the query.
+ */
+public final class DfsContext {
+
+    private final Graph graph;
+    /** Indexed by vertex id, {@code null} for the vertices not accessed yet. */
+    private final DfsPayload[] payloads;
+
+    public DfsContext(Graph graph) {
+        this.graph = graph;
+        this.payloads = new DfsPayload[graph.numberOfVertices()];
+    }
+
+    public Graph getGraph() {
+        return graph;
+    }
+
+    public DfsPayload payload(Vertex vertex) {
+        return payload(vertex.getId());
+    }
+
+    public DfsPayload payload(int id) {
+        DfsPayload payload = payloads[id];
+        if (payload == null) {
+            payload = new DfsPayload(this, graph.vertex(id));
+            payloads[id] = payload;
+        }
+        return payload;
+    }
+
+    /** Applies the action to the payloads accessed so far. */
+    void forEachPayload(Consumer<DfsPayload> action) {
+        for (DfsPayload payload: payloads) {
+            if (payload != null) {
+                action.accept(payload);
+            }
+        }
+    }
+}
@@ -11,17 +11,18 @@ import java.util.*;
 import static edu.dominatorsfinder.naivedfs.DfsPayload.VertexColor.*;
 
 /**
- * Mutable auxiliary data class attached to a {@link Vertex}.
- * It holds a reference to its Vertex and some auxiliary mutable data for Graph processing.
+ * Mutable auxiliary data of a {@link Vertex} for Graph processing.
+ * Payloads are owned by a {@link DfsContext}, that is, by a single query, and are never attached to the Graph.
  */
 @Log4j2
 public class DfsPayload {
-    private final Vertex<DfsPayload> vertex;
+    private final DfsContext context;
+    private final Vertex vertex;
 
     @Getter private int dfsStartTime;
     @Getter private int dfsFinishTime;
 
-    private Map<Integer, Pair<Vertex<DfsPayload>, EdgeKind>> edgeKinds;
+    private Map<Integer, Pair<Vertex, EdgeKind>> edgeKinds;
     /** Edges that go to "dead end" branches. */
     private Set<Integer> deadEdges;
 
@@ -30,8 +31,9 @@ public class DfsPayload {
     @Getter
     private int outDegreeWithoutDeadEdges;
 
-    public DfsPayload(Vertex<?> vertex) {
-        this.vertex = (Vertex)vertex;
+    DfsPayload(DfsContext context, Vertex vertex) {
+        this.context = context;
+        this.vertex = vertex;
         clear();
     }
 
@@ -68,7 +70,7 @@ public class DfsPayload {
         dfsFinishTime = time;
     }
 
-    public void markEdgeDead(Vertex<DfsPayload> targetVertex) {
+    public void markEdgeDead(Vertex targetVertex) {
         assert edgeKinds.containsKey(targetVertex.getId());
 
         if (deadEdges == null) {
@@ -81,7 +83,7 @@ public class DfsPayload {
         outDegreeWithoutDeadEdges--;
         assert outDegreeWithoutDeadEdges >= 0;
 
-        targetVertex.getPayload().decrementInDegree();
+        context.payload(targetVertex).decrementInDegree();
 
         if (isDead()) {
             log.debug(() -> "Vertex " + this + " found to be DEAD.");
@@ -105,7 +107,7 @@ public class DfsPayload {
     }
 
     public EdgeKind edgeKind(int vertexId) {
-        Pair<Vertex<DfsPayload>, EdgeKind> edgeKindPair = edgeKinds.get(vertexId);
+        Pair<Vertex, EdgeKind> edgeKindPair = edgeKinds.get(vertexId);
         return edgeKindPair == null ? null : edgeKindPair.getValue();
     }
 
@@ -149,7 +151,7 @@ public class DfsPayload {
         clearDfsTime();
 
         inDegreeWithoutDeadEdges = 0;
-        outDegreeWithoutDeadEdges = vertex.getOutgoingEdges().size();
+        outDegreeWithoutDeadEdges = vertex.outDegree();
 
         edgeKinds = null;
         deadEdges = null;
@@ -1,6 +1,8 @@
 package edu.dominatorsfinder.naivedfs;
 
 import edu.dominatorsfinder.*;
+import lombok.AccessLevel;
+import lombok.Getter;
 import lombok.extern.log4j.Log4j2;
 
 import javax.annotation.Nullable;
@@ -11,112 +13,120 @@ import java.util.List;
 import static com.google.common.base.Verify.verify;
 
 @Log4j2
-public class NaiveDfsDominatorsFinder extends AbstractDominatorsFinder<DfsPayload> implements IDominatorsFinder<DfsPayload> {
+public class NaiveDfsDominatorsFinder extends AbstractDominatorsFinder implements IDominatorsFinder {
     /** When true, implementation makes mode diagnostic checks. */
     private static final boolean DEBUG_MODE = Util.areAssertionsEnabled();
 
-    NaiveDfsDominatorsFinder(Graph<DfsPayload> graph, Vertex<DfsPayload> startVertex, Vertex<DfsPayload> exitVertex) {
+    NaiveDfsDominatorsFinder(Graph graph, Vertex startVertex, Vertex exitVertex) {
         super(graph, startVertex, exitVertex);
     }
 
-    private final LinkedList<Vertex<DfsPayload>> topologicalSortList = new LinkedList<>();
+    private final LinkedList<Vertex> topologicalSortList = new LinkedList<>();
 
-    public List<Vertex<DfsPayload>> computeDominators() {
-        graph.forAllPayloads(DfsPayload::clear);
+    /** State of the last query. NB: a new context per query, so the Graph can be shared by concurrent finders. */
+    @Getter(AccessLevel.PACKAGE)
+    private DfsContext context;
+
+    public List<Vertex> computeDominators() {
+        context = new DfsContext(graph);
         topologicalSortList.clear();
 
-        int time = new DepthFirstSearch(graph, this::preProcessVertex, this::postProcessVertex).dfsFrom(startVertex);
+        int time = new DepthFirstSearch(context, this::preProcessVertex, this::postProcessVertex).dfsFrom(startVertex);
 
         log.debug("Total DFS traverse time: {}", () -> time);
 
         // check exit vertex was reached:
-        if (exitVertex.getPayload().getDfsStartTime() < 0) {
+        if (payload(exitVertex).getDfsStartTime() < 0) {
             throw new IllegalArgumentException("Exit vertex [" + exitVertex.getKey() + "] appears to be unreachable " +
                     "from the start node [" + startVertex.getKey() + "]");
         }
 
         if (DEBUG_MODE) {
-            graph.forAllPayloads(DfsPayload::clearDfsTime);
+            context.forEachPayload(DfsPayload::clearDfsTime);
             ensureCorrectState();
         }
 
-        List<Vertex<DfsPayload>> dominants = findDominators();
+        List<Vertex> dominants = findDominators();
         filterOutStartVertex(dominants);
         return dominants;
     }
 
     // Makes sure there are no dead end vertices except exit vertex.
     private void ensureCorrectState() {
-        int totalTime = new DepthFirstSearch(graph, (time, u, v) -> {
-            verify(u == null || isExitVertex(u) || !u.getPayload().isDead(), "Expected to be live: %s", u);
-            if (u != null && !u.getPayload().isLiveEdge(v.getId())) {
+        int totalTime = new DepthFirstSearch(context, (time, u, v) -> {
+            verify(u == null || isExitVertex(u) || !payload(u).isDead(), "Expected to be live: %s", u);
+            if (u != null && !payload(u).isLiveEdge(v.getId())) {
                 // do not visit edges that are detected to be dead:
                 return false;
             }
-            verify(isExitVertex(v) || !v.getPayload().isDead(), "Vertex %s expected to be alive.", v);
+            verify(isExitVertex(v) || !payload(v).isDead(), "Vertex %s expected to be alive.", v);
             return true;
         }, (time, u, v) -> {
-            verify(isStartVertex(v) || v.getPayload().getInDegreeWithoutDeadEdges() > 0);
-            verify(isExitVertex(v) || v.getPayload().getOutDegreeWithoutDeadEdges() > 0);
-            verify(u == null || u.getPayload().getOutDegreeWithoutDeadEdges() > 0);
+            verify(isStartVertex(v) || payload(v).getInDegreeWithoutDeadEdges() > 0);
+            verify(isExitVertex(v) || payload(v).getOutDegreeWithoutDeadEdges() > 0);
+            verify(u == null || payload(u).getOutDegreeWithoutDeadEdges() > 0);
 
-            log.debug(() -> "In/Out degrees of vertex [" + v +"]: " + v.getPayload().getInDegreeWithoutDeadEdges() + ":"
-                    + v.getPayload().getOutDegreeWithoutDeadEdges());
+            log.debug(() -> "In/Out degrees of vertex [" + v +"]: " + payload(v).getInDegreeWithoutDeadEdges() + ":"
+                    + payload(v).getOutDegreeWithoutDeadEdges());
             return true;
         }).dfsFrom(startVertex);
 
         log.debug("total time: {}", () -> totalTime);
     }
 
-    private boolean preProcessVertex(int time, @Nullable Vertex<DfsPayload> currentVertex /* null for start vertex */,
-                                     Vertex<DfsPayload> discoveredVertex) {
+    private DfsPayload payload(Vertex vertex) {
+        return context.payload(vertex);
+    }
+
+    private boolean preProcessVertex(int time, @Nullable Vertex currentVertex /* null for start vertex */,
+                                     Vertex discoveredVertex) {
         if (currentVertex != null) {
             EdgeKind edgeKind = colorEdge(currentVertex, discoveredVertex);
 
-            discoveredVertex.getPayload().incrementInDegree();
+            payload(discoveredVertex).incrementInDegree();
 
             boolean deadEdge = false;
             if (edgeKind == EdgeKind.BACKWARD) {
                 log.debug(() -> "in: BACKWARD edge marked dead: " + currentVertex + " -> " + discoveredVertex);
                 deadEdge = true;
-            } else if (discoveredVertex.getPayload().isDead() && !isExitVertex(discoveredVertex)) {
-                log.debug(() -> "in: edge to DEAD vertex marked dead: " + currentVertex.getPayload().edgeKind(discoveredVertex.getId())
+            } else if (payload(discoveredVertex).isDead() && !isExitVertex(discoveredVertex)) {
+                log.debug(() -> "in: edge to DEAD vertex marked dead: " + payload(currentVertex).edgeKind(discoveredVertex.getId())
                         + " " + currentVertex + " -> " + discoveredVertex);
                 deadEdge = true;
             }
             if (deadEdge) {
-                currentVertex.getPayload().markEdgeDead(discoveredVertex);
+                payload(currentVertex).markEdgeDead(discoveredVertex);
             }
         }
 
         return true;
     }
 
-    private EdgeKind colorEdge(Vertex<DfsPayload> fromVertex, Vertex<DfsPayload> toVertex) {
-        EdgeKind edgeKind = switch (toVertex.getPayload().getColor()) {
+    private EdgeKind colorEdge(Vertex fromVertex, Vertex toVertex) {
+        EdgeKind edgeKind = switch (payload(toVertex).getColor()) {
             case WHITE -> EdgeKind.TREE;
             case GREY -> EdgeKind.BACKWARD;
-            case BLACK -> (fromVertex.getPayload().getDfsStartTime() < toVertex.getPayload().getDfsStartTime())
+            case BLACK -> (payload(fromVertex).getDfsStartTime() < payload(toVertex).getDfsStartTime())
                     ? EdgeKind.FORWARD : EdgeKind.CROSS;
         };
-        fromVertex.getPayload().setEdgeKind(toVertex, edgeKind);
+        payload(fromVertex).setEdgeKind(toVertex, edgeKind);
         return edgeKind;
     }
 
-    private boolean postProcessVertex(int time, @Nullable Vertex<DfsPayload> currentVertex /* null for start vertex */,
-                                      Vertex<DfsPayload> discoveredVertex) {
+    private boolean postProcessVertex(int time, @Nullable Vertex currentVertex /* null for start vertex */,
+                                      Vertex discoveredVertex) {
         // post-processing is done only for TREE-kind edges
         assert currentVertex == null
-                || currentVertex.getPayload().edgeKind(discoveredVertex.getId()) == EdgeKind.TREE;
+                || payload(currentVertex).edgeKind(discoveredVertex.getId()) == EdgeKind.TREE;
 
-        if (discoveredVertex.getPayload().isDead() && !isExitVertex(discoveredVertex)) {
+        if (payload(discoveredVertex).isDead() && !isExitVertex(discoveredVertex)) {
             if (currentVertex != null
                     // NB: the edge may have already been marked dead in "IN" function.
                     // This happens when we traverse a dead-end tree branch that does not end with the finish vertex.
-                    && currentVertex.getPayload().isLiveEdge(discoveredVertex.getId())) {
-                log.debug("out: edge to DEAD vertex marked dead: " + currentVertex.getPayload().edgeKind(discoveredVertex.getId())
+                    && payload(currentVertex).isLiveEdge(discoveredVertex.getId())) {
+                log.debug("out: edge to DEAD vertex marked dead: " + payload(currentVertex).edgeKind(discoveredVertex.getId())
                         + " " + currentVertex + " -> " + discoveredVertex);
-                currentVertex.getPayload().markEdgeDead(discoveredVertex);
+                payload(currentVertex).markEdgeDead(discoveredVertex);
             }
             return false;
         } else {
@@ -126,12 +136,12 @@ public class NaiveDfsDominatorsFinder extends AbstractDominatorsFinder<DfsPayloa
         }
     }
 
-    private List<Vertex<DfsPayload>> findDominators() {
-        final List<Vertex<DfsPayload>> dominatorVertices = new LinkedList<>();
+    private List<Vertex> findDominators() {
+        final List<Vertex> dominatorVertices = new LinkedList<>();
         int parallelEdgeCount = 0;
-        for (Vertex<DfsPayload> vertex: topologicalSortList) {
-            int inDegree = vertex.getPayload().getInDegreeWithoutDeadEdges();
-            int outDegree = vertex.getPayload().getOutDegreeWithoutDeadEdges();
+        for (Vertex vertex: topologicalSortList) {
+            int inDegree = payload(vertex).getInDegreeWithoutDeadEdges();
+            int outDegree = payload(vertex).getOutDegreeWithoutDeadEdges();
 
             assert (isStartVertex(vertex) && inDegree == 0) || (!isStartVertex(vertex) && inDegree > 0);
             assert (isExitVertex(vertex) && outDegree == 0) || (!isExitVertex(vertex) && outDegree > 0);
@@ -2,18 +2,10 @@ package edu.dominatorsfinder.naivedfs;
 
 import edu.dominatorsfinder.*;
 
-public class NaiveDfsFinderFactory extends AbstractFinderFactory<DfsPayload> {
+public class NaiveDfsFinderFactory extends AbstractFinderFactory {
 
     @Override
-    public GraphBuilder<DfsPayload> createGraphBuilder() {
-        GraphBuilder<DfsPayload> graphBuilder = new GraphBuilder<>();
-        graphBuilder.withPayloadFactoryFunction(DfsPayload::new);
-        return graphBuilder;
-    }
-
-    @Override
-    public IDominatorsFinder<DfsPayload> createFinder(Graph<DfsPayload> graph, Vertex<DfsPayload> startVertex,
-                                                         Vertex<DfsPayload> exitVertex) {
+    public IDominatorsFinder createFinder(Graph graph, Vertex startVertex, Vertex exitVertex) {
         return new NaiveDfsDominatorsFinder(graph, startVertex, exitVertex);
     }
 
@@ -0,0 +1,75 @@
+package edu.dominatorsfinder.pruning;
+
+import edu.dominatorsfinder.Graph;
+import edu.dominatorsfinder.ReverseAdjacency;
+
+import java.util.Arrays;
+
+/**
+ * Pre-processing stage: finds the vertices that matter for the dominators of the start vertex w.r.t. the exit vertex,
+ * that is, the ones lying on some path from the start to the exit. Any other vertex is either unreachable from the start,
+ * or a dead end that cannot reach the exit, and removing it changes neither the paths nor the dominators.
+ * <p>
+ * The relevant vertices are found with a forward BFS from the start vertex, and then a backward BFS from the exit
+ * vertex (over the predecessors) that only enters the vertices already reached by the forward one.
+ * So the time is proportional to the region reachable from the start, rather than to the size of the Graph.
+ */
+public final class ReachabilityPruning {
+
+    private static final byte NOT_REACHED = 0;
+    private static final byte FORWARD_REACHED = 1;
+    private static final byte RELEVANT = 2;
+
+    private ReachabilityPruning() {
+    }
+
+    /**
+     * @return Ids of the vertices lying on some path from the start vertex to the exit vertex, in ascending order
+     * (ready for {@link Graph#inducedSubgraph(int[])}). Empty if the exit vertex is unreachable from the start vertex.
+     */
+    public static int[] relevantVertices(Graph graph, int startId, int exitId) {
+        // NB: this is the only O(V) allocation; it is a plain zero-filled array, so it is cheap compared to the searches.
+        final byte[] state = new byte[graph.numberOfVertices()];
+
+        int[] queue = new int[16];
+        int tail = 0;
+        state[startId] = FORWARD_REACHED;
+        queue[tail++] = startId;
+        for (int head = 0; head < tail; head++) {
+            final int id = queue[head];
+            for (int i = 0, outDegree = graph.outDegree(id); i < outDegree; i++) {
+                final int target = graph.target(id, i);
+                if (state[target] == NOT_REACHED) {
+                    state[target] = FORWARD_REACHED;
+                    if (tail == queue.length) {
+                        queue = Arrays.copyOf(queue, 2 * queue.length);
+                    }
+                    queue[tail++] = target;
+                }
+            }
+        }
+        if (state[exitId] == NOT_REACHED) {
+            return new int[0];
+        }
+
+        // NB: the forward queue is reused; the relevant vertices are a subset of the forward reached ones, so it is big enough:
+        final ReverseAdjacency reverse = graph.reverseAdjacency();
+        tail = 0;
+        state[exitId] = RELEVANT;
+        queue[tail++] = exitId;
+        for (int head = 0; head < tail; head++) {
+            final int id = queue[head];
+            for (int i = 0, inDegree = reverse.inDegree(id); i < inDegree; i++) {
+                final int source = reverse.source(id, i);
+                if (state[source] == FORWARD_REACHED) {
+                    state[source] = RELEVANT;
+                    queue[tail++] = source;
+                }
+            }
+        }
+
+        final int[] relevant = Arrays.copyOf(queue, tail);
+        Arrays.sort(relevant);
+        return relevant;
+    }
+}
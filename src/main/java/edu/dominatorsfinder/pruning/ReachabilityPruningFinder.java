@@ -0,0 +1,42 @@
+package edu.dominatorsfinder.pruning;
+
+import edu.dominatorsfinder.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Runs the finder of the delegate factory on the induced subgraph of the relevant vertices, renumbered from 0,
+ * and maps the found dominators back to the original Graph.
+ */
+public class ReachabilityPruningFinder extends AbstractDominatorsFinder implements IDominatorsFinder {
+
+    private final AbstractFinderFactory delegate;
+
+    ReachabilityPruningFinder(Graph graph, Vertex startVertex, Vertex exitVertex, AbstractFinderFactory delegate) {
+        super(graph, startVertex, exitVertex);
+        this.delegate = delegate;
+    }
+
+    @Override
+    public List<Vertex> computeDominators() {
+        if (startVertex == exitVertex) {
+            return List.of(); // shortcut for trivial case
+        }
+        final int[] relevantIds = ReachabilityPruning.relevantVertices(graph, startVertex.getId(), exitVertex.getId());
+        if (relevantIds.length == 0) {
+            throw new IllegalArgumentException("Exit vertex [" + exitVertex + "] appears to be unreachable from the start node [" + startVertex + "]");
+        }
+        final Graph subgraph = graph.inducedSubgraph(relevantIds);
+        final Vertex subStart = subgraph.vertex(Arrays.binarySearch(relevantIds, startVertex.getId()));
+        final Vertex subExit = subgraph.vertex(Arrays.binarySearch(relevantIds, exitVertex.getId()));
+
+        final List<Vertex> subDominators = delegate.createFinder(subgraph, subStart, subExit).computeDominators();
+        final List<Vertex> dominators = new ArrayList<>(subDominators.size());
+        for (Vertex subDominator: subDominators) {
+            dominators.add(graph.vertex(relevantIds[subDominator.getId()]));
+        }
+        return List.copyOf(dominators);
+    }
+}
@@ -0,0 +1,31 @@
+package edu.dominatorsfinder.pruning;
+
+import edu.dominatorsfinder.*;
+import lombok.NonNull;
+
+/**
+ * Decorates another factory: its finders run on the subgraph of the vertices lying on the paths from the start
+ * to the exit vertex, see {@link ReachabilityPruning}. For point queries into large graphs this shrinks the working set
+ * of the decorated algorithm to the relevant region.
+ * NB: the subgraph is built per query, so the decorated finders cannot share anything between the queries
+ * (e.g. a post-dominator tree of the whole graph); the decoration pays off for one-off queries.
+ */
+public class ReachabilityPruningFinderFactory extends AbstractFinderFactory {
+
+    private final AbstractFinderFactory delegate;
+
+    public ReachabilityPruningFinderFactory(@NonNull AbstractFinderFactory delegate) {
+        this.delegate = delegate;
+    }
+
+    /** NB: the backward search of the pruning needs the predecessor lists, so they are built together with the Graph. */
+    @Override
+    public GraphBuilder createGraphBuilder() {
+        return delegate.createGraphBuilder().withReverseAdjacency();
+    }
+
+    @Override
+    public IDominatorsFinder createFinder(Graph graph, Vertex startVertex, Vertex exitVertex) {
+        return new ReachabilityPruningFinder(graph, startVertex, exitVertex, delegate);
+    }
+}
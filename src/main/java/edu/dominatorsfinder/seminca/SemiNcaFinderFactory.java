@@ -0,0 +1,11 @@
+package edu.dominatorsfinder.seminca;
+
+import edu.dominatorsfinder.*;
+
+public class SemiNcaFinderFactory extends AbstractPostDominatorTreeFinderFactory {
+
+    @Override
+    public SemiNcaDominatorsFinder createFinder(Graph graph, Vertex startVertex, Vertex exitVertex) {
+        return new SemiNcaDominatorsFinder(graph, startVertex, exitVertex);
+    }
+}
@@ -0,0 +1,150 @@
+package edu.dominatorsfinder.service;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Runs the CPU-bound part of the requests (graph construction and the finders) on a fixed pool of platform threads
+ * sized to the number of cores, while the requests themselves are served on virtual threads, which block cheaply on
+ * reading the request body.
+ * <p>
+ * There are two limits, and a request over either of them is rejected at once with {@link OverloadedException}
+ * (answered with 429), rather than waiting in a queue:
+ * <ul>
+ * <li>the requests reading their input: parsing is CPU-heavy and builds the parsed graph in memory, so a burst of
+ * requests is turned down on entry, before their bodies are read;</li>
+ * <li>the requests in flight, i.e. the ones that have parsed their input and wait for or run their computation.
+ * As each of them runs at most one computation at a time, the queue of the pool never grows beyond the limit.</li>
+ * </ul>
+ * The two are separate, so that the clients sending their bodies slowly only hold the reading permits,
+ * while the computation threads keep serving the requests already read.
+ */
+@Component
+@Log4j2
+class ComputationExecutor implements AutoCloseable {
+
+    /** Thrown when a limit of requests is reached. */
+    static class OverloadedException extends RuntimeException {
+        OverloadedException(String what, int maximum) {
+            super("Too many requests " + what + " (" + maximum + "), please retry later.");
+        }
+    }
+
+    private final ExecutorService executor;
+    private final Semaphore reading;
+    private final int maximumReading;
+    private final Semaphore inFlight;
+    private final int maximumInFlight;
+    private final int retryAfterSeconds;
+
+    /**
+     * @param computationThreads Number of the computation threads; {@code 0} stands for the number of cores.
+     * @param maximumReading Limit of the requests reading their input; {@code 0} stands for 4 times the number of computation threads.
+     * @param maximumInFlight Limit of the requests in flight; {@code 0} stands for 4 times the number of computation threads.
+     * @param retryAfterSeconds Value of the {@code Retry-After} header of the rejected requests.
+     */
+    ComputationExecutor(@Value("${dominators-finder.computation-threads:0}") int computationThreads,
+                        @Value("${dominators-finder.max-reading-requests:0}") int maximumReading,
+                        @Value("${dominators-finder.max-in-flight-requests:0}") int maximumInFlight,
+                        @Value("${dominators-finder.retry-after-seconds:1}") int retryAfterSeconds) {
+        Preconditions.checkArgument(computationThreads >= 0 && maximumReading >= 0 && maximumInFlight >= 0
+                && retryAfterSeconds >= 0);
+        final int threads = computationThreads > 0 ? computationThreads : Runtime.getRuntime().availableProcessors();
+        this.maximumReading = maximumReading > 0 ? maximumReading : 4 * threads;
+        this.maximumInFlight = maximumInFlight > 0 ? maximumInFlight : 4 * threads;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.reading = new Semaphore(this.maximumReading);
+        this.inFlight = new Semaphore(this.maximumInFlight);
+        this.executor = Executors.newFixedThreadPool(threads,
+                new ThreadFactoryBuilder().setNameFormat("dominators-finder-%d").setDaemon(true).build());
+        log.info("{} computation threads, at most {} requests reading their input, at most {} requests in flight.",
+                threads, this.maximumReading, this.maximumInFlight);
+    }
+
+    int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    /**
+     * Admits a request to read its input; it must be called before the request body is read, and the returned permit
+     * must be closed when the request is done.
+     * @throws OverloadedException If the limit of requests reading their input is reached.
+     */
+    Permit admit() {
+        if (!reading.tryAcquire()) {
+            throw new OverloadedException("reading their input", maximumReading);
+        }
+        return new Permit();
+    }
+
+    /**
+     * A request reading its input, then in flight once it runs its first computation.
+     * NB: it is confined to the thread serving the request.
+     */
+    final class Permit implements AutoCloseable {
+        private boolean readingPermitHeld = true;
+        private boolean inFlightPermitHeld;
+
+        private Permit() {
+        }
+
+        /**
+         * Runs the computation on the computation threads and waits for the result.
+         * The first call trades the reading permit for the one in flight, so the input must be read by then.
+         * Unchecked exceptions of the computation are rethrown as is, so that e.g. bad input is reported as such.
+         * @throws OverloadedException If the limit of requests in flight is reached.
+         */
+        <T> T compute(Callable<T> computation) {
+            if (!inFlightPermitHeld) {
+                Preconditions.checkState(readingPermitHeld, "The permit is released.");
+                readingPermitHeld = false;
+                reading.release();
+                if (!inFlight.tryAcquire()) {
+                    throw new OverloadedException("in flight", maximumInFlight);
+                }
+                inFlightPermitHeld = true;
+            }
+            final Future<T> future = executor.submit(computation);
+            try {
+                return future.get();
+            } catch (ExecutionException e) {
+                Throwables.throwIfUnchecked(e.getCause());
+                throw new IllegalStateException(e.getCause());
+            } catch (InterruptedException e) {
+                future.cancel(true);
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for the computation.", e);
+            }
+        }
+
+        @Override
+        public void close() {
+            if (readingPermitHeld) {
+                readingPermitHeld = false;
+                reading.release();
+            }
+            if (inFlightPermitHeld) {
+                inFlightPermitHeld = false;
+                inFlight.release();
+            }
+        }
+    }
+
+    @PreDestroy
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
@@ -1,15 +1,29 @@
 package edu.dominatorsfinder.service;
 
 import edu.dominatorsfinder.*;
-import edu.dominatorsfinder.heavyverticesbypass.HeavyBypassFinderFactory;
+import com.google.common.base.Preconditions;
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.stream.JsonWriter;
+import edu.dominatorsfinder.acyclic.AcyclicFinderFactory;
+import edu.dominatorsfinder.seminca.SemiNcaFinderFactory;
+import edu.dominatorsfinder.singlepair.SinglePairFinderFactory;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedWriter;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.StringJoiner;
 
@@ -17,9 +31,26 @@ import static edu.dominatorsfinder.Util.asKeys;
 
 @RestController
 @Log4j2
+@RequiredArgsConstructor
 public class GraphDominatorsFinderRestController {
 
-	private final AbstractFinderFactory<?> finderFactory = new HeavyBypassFinderFactory();
+	/** NB: acyclic graphs get their trees in one topological pass, the others are processed by Semi-NCA. */
+	private final AbstractPostDominatorTreeFinderFactory treeFinderFactory = new AcyclicFinderFactory(new SemiNcaFinderFactory());
+	/** Answers single queries on the graphs whose trees are too large to be cached, in linear time. */
+	private final AbstractFinderFactory singlePairFinderFactory = new SinglePairFinderFactory();
+
+	private final PostDominatorTreeCache treeCache = new PostDominatorTreeCache(
+			PostDominatorTreeCache.DEFAULT_MAXIMUM_WEIGHT, PostDominatorTreeCache.DEFAULT_TIME_TO_LIVE);
+
+	/**
+	 * NB: the requests are served on virtual threads, which only read the input; the computations run on the bounded
+	 * pool of this executor. The permit is taken before the body is read, so the requests over its limits are answered
+	 * with 429 right away.
+	 */
+	private final ComputationExecutor computationExecutor;
+
+	/** One answer of {@link #queryPostDominance}; the nearest common post-dominator is null if a vertex cannot reach the exit. */
+	record PostDominanceAnswer(String u, String v, boolean postDominates, String nearestCommonPostDominator) {}
 
 	@GetMapping("/")
 	public String index() {
@@ -29,23 +60,48 @@ public class GraphDominatorsFinderRestController {
 
 	@RequestMapping(path = "/server", method = RequestMethod.POST)
 	@ResponseBody
-	public ResponseEntity<String> findDominators(@RequestBody String inputJson) {
-		log.info(">>> Request: [{}]", inputJson);
-		try {
-			// NB: here we use "bypass heavy vertices" algo as it is correct and fast:
-			GraphBuilder<?> graphBuilder = finderFactory.createGraphBuilder();
-			graphBuilder.build(inputJson);
+	public ResponseEntity<String> findDominators(InputStream requestBody) {
+		try (ComputationExecutor.Permit permit = computationExecutor.admit()) {
+			GraphBuilder graphBuilder = treeFinderFactory.createGraphBuilder();
+			parse(graphBuilder, requestBody);
+			final List<Vertex> dominators = permit.compute(() -> dominators(graphBuilder));
+			String response = formatResponseText(asKeys(dominators));
 
-			final Graph<?> graph = graphBuilder.getGraph();
-			final Vertex<?> startVertex = graphBuilder.startVertex();
-			final Vertex<?> exitVertex = graphBuilder.exitVertex();
+			log.info("<<< Response: [{}]", response);
+			return toResponseEntity(response + "\n");
+		} catch (ComputationExecutor.OverloadedException oe) {
+			log.warn(oe.getMessage());
+			return toResponseEntity(oe);
+		} catch (IllegalArgumentException iae) {
+			log.info("Illegal input: ", iae);
+			return toResponseEntity(iae);
+		} catch (RuntimeException re) {
+			log.error("Unexpected error: ", re);
+			return toResponseEntity(re);
+		}
+	}
 
-			IDominatorsFinder<?> finder = finderFactory.createFinder((Graph)graph, (Vertex)startVertex, (Vertex)exitVertex);
-			List<String> dominatorKeys = asKeys(finder.computeDominators());
-			String response = formatResponseText(dominatorKeys);
+	/**
+	 * Answers "does u post-dominate v" and "what is the nearest common post-dominator of u and v" for each of the
+	 * vertex pairs given as {@code "pairs": [["u", "v"], ...]}. The post-dominator tree and its index are built once
+	 * per request, so each pair is answered in constant time. The response is a JSON array of answers.
+	 */
+	@RequestMapping(path = "/server/post-dominance", method = RequestMethod.POST)
+	@ResponseBody
+	public ResponseEntity<String> queryPostDominance(InputStream requestBody) {
+		try (ComputationExecutor.Permit permit = computationExecutor.admit()) {
+			GraphBuilder graphBuilder = treeFinderFactory.createGraphBuilder();
+			parse(graphBuilder, requestBody);
+			final List<PostDominanceAnswer> answers = permit.compute(() -> postDominanceAnswers(graphBuilder));
+			String response = new Gson().toJson(answers);
 
 			log.info("<<< Response: [{}]", response);
-			return toResponseEntity(response + "\n");
+			HttpHeaders responseHeaders = new HttpHeaders();
+			responseHeaders.set("Content-Type", "application/json");
+			return new ResponseEntity<>(response + "\n", responseHeaders, HttpStatus.OK);
+		} catch (ComputationExecutor.OverloadedException oe) {
+			log.warn(oe.getMessage());
+			return toResponseEntity(oe);
 		} catch (IllegalArgumentException iae) {
 			log.info("Illegal input: ", iae);
 			return toResponseEntity(iae);
@@ -55,6 +111,165 @@ public class GraphDominatorsFinderRestController {
 		}
 	}
 
+	/**
+	 * Finds dominators of many start vertices of the same graph: {@code "hs"} is either an array of start vertex keys,
+	 * or {@code "all"}. The graph is parsed and its post-dominator tree is built once, then each start vertex costs
+	 * {@code O(number of its dominators)}. The response is a JSON object mapping each start vertex key to the list
+	 * of its dominators, or to {@code null} if the exit vertex is unreachable from it.
+	 * The response is streamed, so large batches are never materialized in memory.
+	 */
+	@RequestMapping(path = "/server/batch", method = RequestMethod.POST)
+	@ResponseBody
+	public ResponseEntity<StreamingResponseBody> findDominatorsBatch(InputStream requestBody) {
+		try (ComputationExecutor.Permit permit = computationExecutor.admit()) {
+			GraphBuilder graphBuilder = treeFinderFactory.createGraphBuilder();
+			parse(graphBuilder, requestBody);
+			final PostDominatorTree tree = permit.compute(() -> postDominatorTree(graphBuilder));
+
+			final List<Vertex> startVertices = startVertices(graphBuilder.getGraph(), graphBuilder.getInputData().getStartNodeKeys());
+			final StreamingResponseBody body = outputStream -> {
+				final JsonWriter jsonWriter = new JsonWriter(new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8)));
+				jsonWriter.setSerializeNulls(true);
+				jsonWriter.beginObject();
+				for (Vertex startVertex: startVertices) {
+					jsonWriter.name(startVertex.getKey());
+					if (tree.contains(startVertex)) {
+						jsonWriter.beginArray();
+						for (Vertex dominator: tree.dominatorsOf(startVertex)) {
+							jsonWriter.value(dominator.getKey());
+						}
+						jsonWriter.endArray();
+					} else {
+						jsonWriter.nullValue();
+					}
+				}
+				jsonWriter.endObject();
+				jsonWriter.flush();
+				log.info("<<< Batch response for {} start vertices", startVertices.size());
+			};
+			HttpHeaders responseHeaders = new HttpHeaders();
+			responseHeaders.set("Content-Type", "application/json");
+			return new ResponseEntity<>(body, responseHeaders, HttpStatus.OK);
+		} catch (ComputationExecutor.OverloadedException oe) {
+			log.warn(oe.getMessage());
+			return toStreamingResponseEntity(toResponseEntity(oe));
+		} catch (IllegalArgumentException iae) {
+			log.info("Illegal input: ", iae);
+			return toStreamingResponseEntity(toResponseEntity(iae));
+		} catch (RuntimeException re) {
+			log.error("Unexpected error: ", re);
+			return toStreamingResponseEntity(toResponseEntity(re));
+		}
+	}
+
+	private static ResponseEntity<StreamingResponseBody> toStreamingResponseEntity(ResponseEntity<String> responseEntity) {
+		final byte[] bytes = responseEntity.getBody().getBytes(StandardCharsets.UTF_8);
+		return new ResponseEntity<>(outputStream -> outputStream.write(bytes), responseEntity.getHeaders(), responseEntity.getStatusCode());
+	}
+
+	@GetMapping("/server/cache-stats")
+	public String cacheStats() {
+		return treeCache.stats() + "\n";
+	}
+
+	/**
+	 * Parses the request body as it arrives: the graph goes right from the stream into the DOT parser,
+	 * so the text of a graph is held in memory only up to the length that may still fall back to the JGraphT importer
+	 * (see {@link GraphBuilder#parse(java.io.Reader)}).
+	 */
+	private static void parse(GraphBuilder graphBuilder, InputStream requestBody) {
+		graphBuilder.parse(new InputStreamReader(requestBody, StandardCharsets.UTF_8));
+		final InputData inputData = graphBuilder.getInputData();
+		log.info(">>> Request: h [{}], e2 [{}], {}", inputData.getStartNodeKey(), inputData.getExitNodeKey(), graphBuilder.getFingerprint());
+	}
+
+	/** Dominators of "h" w.r.t. "e2" for the {@code graphBuilder} that has parsed the input. */
+	private List<Vertex> dominators(GraphBuilder graphBuilder) {
+		if (treeCache.admits(cacheKey(graphBuilder))) {
+			// NB: the post-dominator tree does not depend on "h", so it is cached and reused for any start vertex:
+			final PostDominatorTree tree = postDominatorTree(graphBuilder);
+			return tree.dominatorsOf(requireStartVertex(graphBuilder));
+		}
+		// NB: the tree would not stay in the cache, so only this very query is answered:
+		graphBuilder.buildParsedGraph();
+		final Vertex exitVertex = graphBuilder.exitVertex();
+		Preconditions.checkArgument(exitVertex != null, "Exit vertex (\"e2\") must be present in the Graph.");
+		return singlePairFinderFactory.createFinder(graphBuilder.getGraph(),
+				requireStartVertex(graphBuilder), exitVertex).computeDominators();
+	}
+
+	/** Answers of {@link #queryPostDominance} for the {@code graphBuilder} that has parsed the input. */
+	private List<PostDominanceAnswer> postDominanceAnswers(GraphBuilder graphBuilder) {
+		final PostDominatorTree tree = postDominatorTree(graphBuilder);
+
+		final Graph graph = graphBuilder.getGraph();
+		final String[][] pairs = graphBuilder.getInputData().getVertexPairs();
+		Preconditions.checkArgument(pairs != null, "Vertex pairs (\"pairs\") must be given.");
+
+		final PostDominanceIndex index = new PostDominanceIndex(tree);
+		final List<PostDominanceAnswer> answers = new ArrayList<>(pairs.length);
+		for (String[] pair: pairs) {
+			Preconditions.checkArgument(pair != null && pair.length == 2, "Each pair must consist of 2 vertex keys.");
+			final Vertex u = requireVertex(graph, pair[0]);
+			final Vertex v = requireVertex(graph, pair[1]);
+			final boolean inTree = index.getTree().contains(u) && index.getTree().contains(v);
+			answers.add(new PostDominanceAnswer(u.getKey(), v.getKey(), index.postDominates(u, v),
+					inTree ? index.nearestCommonPostDominator(u, v).getKey() : null));
+		}
+		return answers;
+	}
+
+	/**
+	 * Returns the post-dominator tree w.r.t. "e2" for the {@code graphBuilder} that has parsed the input.
+	 * If a graph with the same fingerprint has been seen recently, both the Graph and the tree are taken from the cache,
+	 * otherwise they are computed and cached. In either case the {@code graphBuilder} gets the Graph,
+	 * so that the vertices can be looked up in it.
+	 */
+	private PostDominatorTree postDominatorTree(GraphBuilder graphBuilder) {
+		final PostDominatorTreeCache.Key key = cacheKey(graphBuilder);
+		final PostDominatorTree tree = treeCache.get(key, () -> {
+			graphBuilder.buildParsedGraph();
+			final Vertex exitVertex = graphBuilder.exitVertex();
+			Preconditions.checkArgument(exitVertex != null, "Exit vertex (\"e2\") must be present in the Graph.");
+			return treeFinderFactory.createPostDominatorTree(graphBuilder.getGraph(), exitVertex);
+		});
+		if (graphBuilder.getGraph() == null) {
+			log.debug("Post-dominator tree cache hit: {}", key);
+			graphBuilder.adoptGraph(tree.getGraph());
+		}
+		return tree;
+	}
+
+	private static PostDominatorTreeCache.Key cacheKey(GraphBuilder graphBuilder) {
+		return new PostDominatorTreeCache.Key(graphBuilder.getFingerprint(), graphBuilder.getInputData().getExitNodeKey());
+	}
+
+	private static Vertex requireStartVertex(GraphBuilder graphBuilder) {
+		final Vertex startVertex = graphBuilder.startVertex();
+		Preconditions.checkArgument(startVertex != null, "Start vertex (\"h\") must be present in the Graph.");
+		return startVertex;
+	}
+
+	private static List<Vertex> startVertices(Graph graph, JsonElement startNodeKeys) {
+		Preconditions.checkArgument(startNodeKeys != null, "Start vertices (\"hs\") must be given.");
+		if (startNodeKeys.isJsonPrimitive() && "all".equals(startNodeKeys.getAsString())) {
+			return graph.vertexStream().toList();
+		}
+		Preconditions.checkArgument(startNodeKeys.isJsonArray(), "Start vertices (\"hs\") must be an array of keys, or \"all\".");
+		final List<Vertex> startVertices = new ArrayList<>(startNodeKeys.getAsJsonArray().size());
+		for (JsonElement key: startNodeKeys.getAsJsonArray()) {
+			Preconditions.checkArgument(key.isJsonPrimitive(), "Start vertex key must be a string: %s", key);
+			startVertices.add(requireVertex(graph, key.getAsString()));
+		}
+		return startVertices;
+	}
+
+	private static Vertex requireVertex(Graph graph, String key) {
+		final Vertex vertex = graph.vertex(key);
+		Preconditions.checkArgument(vertex != null, "Vertex [%s] must be present in the Graph.", key);
+		return vertex;
+	}
+
 	private String formatResponseText(List<String> dominatorKeys) {
 		StringJoiner joiner = new StringJoiner(", ", "{", "}");
 		dominatorKeys.forEach(joiner::add);
@@ -73,6 +288,13 @@ public class GraphDominatorsFinderRestController {
 		return new ResponseEntity<>(getFullMessageWithStackTrace(iae), responseHeaders, HttpStatus.BAD_REQUEST);
 	}
 
+	private ResponseEntity<String> toResponseEntity(ComputationExecutor.OverloadedException oe) {
+		HttpHeaders responseHeaders = new HttpHeaders();
+		responseHeaders.set("Content-Type", "text/plain");
+		responseHeaders.set(HttpHeaders.RETRY_AFTER, String.valueOf(computationExecutor.getRetryAfterSeconds()));
+		return new ResponseEntity<>(oe.getMessage() + "\n", responseHeaders, HttpStatus.TOO_MANY_REQUESTS);
+	}
+
 	private ResponseEntity<String> toResponseEntity(Exception e) {
 		HttpHeaders responseHeaders = new HttpHeaders();
 		responseHeaders.set("Content-Type", "text/plain");
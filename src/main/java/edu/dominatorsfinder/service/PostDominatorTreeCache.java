@@ -0,0 +1,77 @@
+package edu.dominatorsfinder.service;
+
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import edu.dominatorsfinder.GraphFingerprint;
+import edu.dominatorsfinder.PostDominatorTree;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * In-memory cache of post-dominator trees keyed by (graph fingerprint, exit vertex key), so that a graph resent
+ * with another formatting or another order of statements skips both graph construction and the finder.
+ * Entries are weighted by the number of vertices plus the number of edges of the graph, and expire after the given time.
+ * <p>
+ * NB: a hit is not checked against the input, so the fingerprints must not be forgeable: see {@link GraphFingerprint}.
+ */
+class PostDominatorTreeCache {
+
+    /** About 1.5 GB of heap for the graphs in the worst case. */
+    static final long DEFAULT_MAXIMUM_WEIGHT = 20_000_000L;
+    static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofMinutes(10);
+
+    record Key(GraphFingerprint fingerprint, String exitNodeKey) {}
+
+    /** The number of the cache segments; the maximum weight is split between them. */
+    private static final int CONCURRENCY_LEVEL = 4;
+
+    private final Cache<Key, PostDominatorTree> cache;
+    private final long maximumEntryWeight;
+
+    PostDominatorTreeCache(long maximumWeight, Duration timeToLive) {
+        maximumEntryWeight = maximumWeight / CONCURRENCY_LEVEL;
+        cache = CacheBuilder.newBuilder()
+                .concurrencyLevel(CONCURRENCY_LEVEL)
+                .maximumWeight(maximumWeight)
+                .weigher((Key key, PostDominatorTree tree) -> weight(key.fingerprint()))
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .build();
+    }
+
+    private static int weight(GraphFingerprint fingerprint) {
+        return (int) Math.min(Integer.MAX_VALUE, (long) fingerprint.numberOfVertices() + fingerprint.numberOfEdges());
+    }
+
+    /**
+     * @return {@code false} if the tree of the graph is too heavy to be kept: it would be evicted from its segment
+     * right after loading, so building the whole tree for a single query is a waste.
+     */
+    boolean admits(Key key) {
+        return weight(key.fingerprint()) <= maximumEntryWeight;
+    }
+
+    /**
+     * @return The cached tree, or the tree computed by the {@code treeSupplier}; concurrent requests for the same key
+     * wait for a single computation.
+     */
+    PostDominatorTree get(Key key, Supplier<PostDominatorTree> treeSupplier) {
+        try {
+            return cache.get(key, treeSupplier::get);
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            // NB: rethrow IllegalArgumentException as is, so that it is reported as bad input:
+            Throwables.throwIfUnchecked(e.getCause());
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /** Hit, miss, load and eviction counters. */
+    CacheStats stats() {
+        return cache.stats();
+    }
+}
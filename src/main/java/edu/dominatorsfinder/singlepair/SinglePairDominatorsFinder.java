@@ -0,0 +1,136 @@
+package edu.dominatorsfinder.singlepair;
+
+import edu.dominatorsfinder.AbstractDominatorsFinder;
+import edu.dominatorsfinder.Graph;
+import edu.dominatorsfinder.IDominatorsFinder;
+import edu.dominatorsfinder.Vertex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Answers a single {@code (h, e2)} query in {@code O(V + E)} time, without building any tree.
+ * <p>
+ * The dominators are the single-vertex cuts between the start and the exit vertex, so all of them lie on any path
+ * from the start to the exit. The algorithm takes one such path {@code p[0] = h, ..., p[k] = e2} (found with BFS),
+ * and then sweeps it from the start: before leaving {@code p[i]} it explores everything reachable from {@code p[i]}
+ * through the vertices off the path, and keeps the farthest path index reached so far by any edge. If that index is
+ * {@code i + 1}, nothing reachable from {@code p[0..i]} bypasses {@code p[i + 1]}, so it is a dominator; otherwise
+ * there is a detour from {@code p[0..i]} to a later path vertex, which avoids {@code p[i + 1]}.
+ * <p>
+ * Each vertex off the path is explored at most once over the whole sweep, as whatever it reaches has already been
+ * accounted for in the farthest index, so the sweep is linear too. All the data is kept in int arrays indexed by vertex id.
+ */
+public class SinglePairDominatorsFinder extends AbstractDominatorsFinder implements IDominatorsFinder {
+
+    /** {@link #parent} value of the vertices not reached by BFS. */
+    private static final int NOT_REACHED = -2;
+    /** {@link #parent} value of the start vertex. */
+    private static final int NO_VERTEX = -1;
+    /** {@link #pathIndex} value of the vertices off the path. */
+    private static final int OFF_PATH = -1;
+
+    /** BFS parent, or {@link #NOT_REACHED}. */
+    private int[] parent;
+    /** Index of the vertex on the path, or {@link #OFF_PATH}. */
+    private int[] pathIndex;
+    /** Marks the vertices off the path explored by the sweep. */
+    private boolean[] explored;
+    /** BFS queue, then the DFS stack: each vertex gets into it at most once, so it never grows. */
+    private int[] queue;
+
+    SinglePairDominatorsFinder(Graph graph, Vertex startVertex, Vertex exitVertex) {
+        super(graph, startVertex, exitVertex);
+    }
+
+    @Override
+    public List<Vertex> computeDominators() {
+        if (startVertex == exitVertex) {
+            return List.of(); // shortcut for trivial case
+        }
+        final int numberOfVertices = graph.numberOfVertices();
+        parent = new int[numberOfVertices];
+        pathIndex = new int[numberOfVertices];
+        explored = new boolean[numberOfVertices];
+        queue = new int[numberOfVertices];
+
+        final int[] path = findPath(startVertex.getId(), exitVertex.getId());
+        if (path == null) {
+            throw new IllegalArgumentException("Exit vertex [" + exitVertex + "] appears to be unreachable from the start node [" + startVertex + "]");
+        }
+
+        final int exitIndex = path.length - 1;
+        final List<Vertex> dominators = new ArrayList<>();
+        int farthest = 0;
+        for (int i = 0; i < exitIndex; i++) {
+            farthest = explore(path[i], farthest);
+            assert farthest > i : farthest; // there is at least the path edge to p[i + 1]
+            if (farthest == i + 1) {
+                dominators.add(graph.vertex(path[i + 1])); // NB: the exit vertex is always added last
+            }
+        }
+        return List.copyOf(dominators);
+    }
+
+    /**
+     * BFS from the start vertex until the exit vertex is reached; fills {@link #pathIndex} for the path vertices.
+     * @return The path vertex ids from the start to the exit vertex, or {@code null} if the exit vertex is unreachable.
+     */
+    private int[] findPath(int startId, int exitId) {
+        Arrays.fill(parent, NOT_REACHED);
+        parent[startId] = NO_VERTEX;
+        queue[0] = startId;
+        int tail = 1;
+        for (int head = 0; head < tail && parent[exitId] == NOT_REACHED; head++) {
+            final int id = queue[head];
+            for (int i = 0, outDegree = graph.outDegree(id); i < outDegree; i++) {
+                final int target = graph.target(id, i);
+                if (parent[target] == NOT_REACHED) {
+                    parent[target] = id;
+                    queue[tail++] = target;
+                }
+            }
+        }
+        if (parent[exitId] == NOT_REACHED) {
+            return null;
+        }
+
+        int length = 1;
+        for (int id = parent[exitId]; id != NO_VERTEX; id = parent[id]) {
+            length++;
+        }
+        final int[] path = new int[length];
+        Arrays.fill(pathIndex, OFF_PATH);
+        int id = exitId;
+        for (int i = length - 1; i >= 0; i--) {
+            path[i] = id;
+            pathIndex[id] = i;
+            id = parent[id];
+        }
+        return path;
+    }
+
+    /**
+     * DFS from the path vertex through the vertices off the path not explored yet.
+     * @return The max of {@code farthest} and the path indices of all the path vertices the DFS has an edge to.
+     */
+    private int explore(int pathVertexId, int farthest) {
+        queue[0] = pathVertexId;
+        int top = 1;
+        while (top > 0) {
+            final int id = queue[--top];
+            for (int i = 0, outDegree = graph.outDegree(id); i < outDegree; i++) {
+                final int target = graph.target(id, i);
+                final int index = pathIndex[target];
+                if (index != OFF_PATH) {
+                    farthest = Math.max(farthest, index);
+                } else if (!explored[target]) {
+                    explored[target] = true;
+                    queue[top++] = target;
+                }
+            }
+        }
+        return farthest;
+    }
+}
@@ -0,0 +1,11 @@
+package edu.dominatorsfinder.singlepair;
+
+import edu.dominatorsfinder.*;
+
+public class SinglePairFinderFactory extends AbstractFinderFactory {
+
+    @Override
+    public SinglePairDominatorsFinder createFinder(Graph graph, Vertex startVertex, Vertex exitVertex) {
+        return new SinglePairDominatorsFinder(graph, startVertex, exitVertex);
+    }
+}
@@ -4,13 +4,13 @@ import org.junit.jupiter.api.Test;
 
 import static org.assertj.core.api.BDDAssertions.*;
 
-public abstract class AbstractDominatorsFinderNegativeCasesTest<Payload> {
+public abstract class AbstractDominatorsFinderNegativeCasesTest {
 
-    protected abstract AbstractFinderFactory<Payload> getFactory();
+    protected abstract AbstractFinderFactory getFactory();
 
     @Test
     void small_with_all_type_of_edges_target_node_unreachable_not_simply_connected() {
-        GraphBuilder<Payload> graphBuilder = getFactory().createGraphBuilder();
+        GraphBuilder graphBuilder = getFactory().createGraphBuilder();
         graphBuilder.build("{" +
                 "\"e2\": \"Y\"," +
                 "\"h\": \"A\"," +
@@ -38,21 +38,21 @@ public abstract class AbstractDominatorsFinderNegativeCasesTest<Payload> {
                         }"
                 """
                 + "}");
-        final Graph<Payload> graph = graphBuilder.getGraph();
+        final Graph graph = graphBuilder.getGraph();
 
-        final Vertex<Payload> startVertex = graphBuilder.startVertex();
-        final Vertex<Payload> exitVertex = graphBuilder.exitVertex();
+        final Vertex startVertex = graphBuilder.startVertex();
+        final Vertex exitVertex = graphBuilder.exitVertex();
 
         thenExceptionOfType(IllegalArgumentException.class).isThrownBy(() ->
                 getFactory().createFinder(graph, startVertex, exitVertex).computeDominators()
         ).withMessageContaining("Exit vertex [Y] appears to be unreachable from the start node [A]");
 
-        final Vertex<Payload> vertexQ = graph.vertex("Q");
+        final Vertex vertexQ = graph.vertex("Q");
         thenExceptionOfType(IllegalArgumentException.class).isThrownBy(() ->
                 getFactory().createFinder(graph, startVertex, vertexQ).computeDominators()
         ).withMessageContaining("Exit vertex [Q] appears to be unreachable from the start node [A]");
 
-        final Vertex<Payload> vertexT = graph.vertex("T");
+        final Vertex vertexT = graph.vertex("T");
         thenExceptionOfType(IllegalArgumentException.class).isThrownBy(() ->
                 getFactory().createFinder(graph, startVertex, vertexT).computeDominators()
         ).withMessageContaining("Exit vertex [T] appears to be unreachable from the start node [A]");
@@ -60,7 +60,7 @@ public abstract class AbstractDominatorsFinderNegativeCasesTest<Payload> {
 
     @Test
     void small_with_all_type_of_edges_target_node_unreachable_simply_connected() {
-        GraphBuilder<Payload> graphBuilder = getFactory().createGraphBuilder();
+        GraphBuilder graphBuilder = getFactory().createGraphBuilder();
         graphBuilder.build("{" +
                 "\"e2\": \"Y\"," +
                 "\"h\": \"A\"," +
@@ -92,21 +92,21 @@ public abstract class AbstractDominatorsFinderNegativeCasesTest<Payload> {
                         }"
                 """
                 + "}");
-        final Graph<Payload> graph = graphBuilder.getGraph();
+        final Graph graph = graphBuilder.getGraph();
 
-        final Vertex<Payload> startVertex = graphBuilder.startVertex();
-        final Vertex<Payload> exitVertex = graphBuilder.exitVertex();
+        final Vertex startVertex = graphBuilder.startVertex();
+        final Vertex exitVertex = graphBuilder.exitVertex();
 
         thenExceptionOfType(IllegalArgumentException.class).isThrownBy(() ->
                 getFactory().createFinder(graph, startVertex, exitVertex).computeDominators()
         ).withMessageContaining("Exit vertex [Y] appears to be unreachable from the start node [A]");
 
-        final Vertex<Payload> vertexQ = graph.vertex("Q");
+        final Vertex vertexQ = graph.vertex("Q");
         thenExceptionOfType(IllegalArgumentException.class).isThrownBy(() ->
                 getFactory().createFinder(graph, startVertex, vertexQ).computeDominators()
         ).withMessageContaining("Exit vertex [Q] appears to be unreachable from the start node [A]");
 
-        final Vertex<Payload> vertexT = graph.vertex("T");
+        final Vertex vertexT = graph.vertex("T");
         thenExceptionOfType(IllegalArgumentException.class).isThrownBy(() ->
                 getFactory().createFinder(graph, startVertex, vertexT).computeDominators()
         ).withMessageContaining("Exit vertex [T] appears to be unreachable from the start node [A]");
@@ -114,7 +114,7 @@ public abstract class AbstractDominatorsFinderNegativeCasesTest<Payload> {
 
     @Test
     void unreachable_finish() {
-        GraphBuilder<Payload> graphBuilder = getFactory().createGraphBuilder();
+        GraphBuilder graphBuilder = getFactory().createGraphBuilder();
         graphBuilder.build("{" +
                 "\"h\": \"A\"," +
                 "\"e2\": \"B\"," +
@@ -122,10 +122,10 @@ public abstract class AbstractDominatorsFinderNegativeCasesTest<Payload> {
                   "graph": "digraph graphname{ B -> A }"
                 """
                 + "}");
-        final Graph<Payload> graph = graphBuilder.getGraph();
+        final Graph graph = graphBuilder.getGraph();
 
-        final Vertex<Payload> startVertex = graphBuilder.startVertex();
-        final Vertex<Payload> exitVertex = graphBuilder.exitVertex();
+        final Vertex startVertex = graphBuilder.startVertex();
+        final Vertex exitVertex = graphBuilder.exitVertex();
 
         thenExceptionOfType(IllegalArgumentException.class).isThrownBy(() ->
                         getFactory().createFinder(graph, startVertex, exitVertex).computeDominators())
@@ -134,7 +134,7 @@ public abstract class AbstractDominatorsFinderNegativeCasesTest<Payload> {
 
     @Test
     void unreachable_finish_not_simply_connected() {
-        GraphBuilder<Payload> graphBuilder = getFactory().createGraphBuilder();
+        GraphBuilder graphBuilder = getFactory().createGraphBuilder();
         graphBuilder.build("{" +
                 "\"h\": \"A\"," +
                 "\"e2\": \"B\"," +
@@ -145,10 +145,10 @@ public abstract class AbstractDominatorsFinderNegativeCasesTest<Payload> {
                   }"
                 """
                 + "}");
-        final Graph<Payload> graph = graphBuilder.getGraph();
+        final Graph graph = graphBuilder.getGraph();
 
-        final Vertex<Payload> startVertex = graphBuilder.startVertex();
-        final Vertex<Payload> exitVertex = graphBuilder.exitVertex();
+        final Vertex startVertex = graphBuilder.startVertex();
+        final Vertex exitVertex = graphBuilder.exitVertex();
 
         thenExceptionOfType(IllegalArgumentException.class).isThrownBy(() ->
                         getFactory().createFinder(graph, startVertex, exitVertex).computeDominators())
@@ -157,7 +157,7 @@ public abstract class AbstractDominatorsFinderNegativeCasesTest<Payload> {
 
     @Test
     void unreachable_finish_two_loops_not_simply_connected() {
-        GraphBuilder<Payload> graphBuilder = getFactory().createGraphBuilder();
+        GraphBuilder graphBuilder = getFactory().createGraphBuilder();
         graphBuilder.build("{" +
                 "\"h\": \"A\"," +
                 "\"e2\": \"C\"," +
@@ -172,10 +172,10 @@ public abstract class AbstractDominatorsFinderNegativeCasesTest<Payload> {
                   }"
                 """
                 + "}");
-        final Graph<Payload> graph = graphBuilder.getGraph();
+        final Graph graph = graphBuilder.getGraph();
 
-        final Vertex<Payload> startVertex = graphBuilder.startVertex();
-        final Vertex<Payload> exitVertex = graphBuilder.exitVertex();
+        final Vertex startVertex = graphBuilder.startVertex();
+        final Vertex exitVertex = graphBuilder.exitVertex();
 
         thenExceptionOfType(IllegalArgumentException.class).isThrownBy(() ->
                         getFactory().createFinder(graph, startVertex, exitVertex).computeDominators())
@@ -1,11 +1,13 @@
 package edu.dominatorsfinder;
 
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.MethodSource;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Stream;
 
 import static edu.dominatorsfinder.TestUtil.getCallerMethodName;
@@ -13,24 +15,24 @@ import static edu.dominatorsfinder.Util.asKeys;
 import static org.assertj.core.api.BDDAssertions.then;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 
-public abstract class AbstractDominatorsFinderPositiveTest<Payload> {
+public abstract class AbstractDominatorsFinderPositiveTest {
 
-    protected abstract AbstractFinderFactory<Payload> getFactory();
+    protected abstract AbstractFinderFactory getFactory();
 
     @ParameterizedTest(name = "{0}, {1} -> {2}")
     @MethodSource("testCases")
     protected void doTest(TestGraph testGraph,
                                     String startVertexKey, String exitVertexKey, List<String> expectedDominators) {
-        GraphBuilder<Payload> graphBuilder = getFactory().createGraphBuilder();
+        GraphBuilder graphBuilder = getFactory().createGraphBuilder();
         graphBuilder.build(testGraph.graphTopologyJson());
-        final Graph<Payload> graph = graphBuilder.getGraph();
+        final Graph graph = graphBuilder.getGraph();
 
-        Vertex<Payload> startVertex = graph.vertex(startVertexKey);
+        Vertex startVertex = graph.vertex(startVertexKey);
         then(startVertex).isNotNull();
-        Vertex<Payload> exitVertex = graph.vertex(exitVertexKey);
+        Vertex exitVertex = graph.vertex(exitVertexKey);
         then(exitVertex).isNotNull();
 
-        IDominatorsFinder<Payload> finder = getFactory().createFinder(graph, startVertex, exitVertex);
+        IDominatorsFinder finder = getFactory().createFinder(graph, startVertex, exitVertex);
         List<String> keyList = asKeys(finder.computeDominators());
         then(keyList).containsExactlyElementsOf(expectedDominators);
     }
@@ -487,7 +489,7 @@ n -> a
             "G, _"
     })
     void all_possible_start_vertices(String start, String expectedDominators) {
-        GraphBuilder<Payload> graphBuilder = getFactory().createGraphBuilder();
+        GraphBuilder graphBuilder = getFactory().createGraphBuilder();
         String[] expectedKeys = expectedDominators.split("_");
         graphBuilder.build("{" +
                 "\"h\": \"" + start + "\"," +
@@ -507,14 +509,48 @@ n -> a
                         }"
                 """
                 + "}");
-        final Graph<Payload> graph = graphBuilder.getGraph();
+        final Graph graph = graphBuilder.getGraph();
 
-        final Vertex<Payload> startVertex = graphBuilder.startVertex();
-        final Vertex<Payload> exitVertex = graphBuilder.exitVertex();
+        final Vertex startVertex = graphBuilder.startVertex();
+        final Vertex exitVertex = graphBuilder.exitVertex();
 
-        IDominatorsFinder<Payload> finder = getFactory().createFinder(graph, startVertex, exitVertex);
+        IDominatorsFinder finder = getFactory().createFinder(graph, startVertex, exitVertex);
         List<String> keyList = asKeys(finder.computeDominators());
 
         then(keyList).containsExactly(expectedKeys);
     }
-}
\ No newline at end of file
+
+    /** The scratch state of a query must not leak into the subsequent queries on the same Graph. */
+    @Test
+    void repeated_queries_on_the_same_graph() {
+        GraphBuilder graphBuilder = getFactory().createGraphBuilder();
+        graphBuilder.build("""
+                {"h": "A", "e2": "G", "graph": "digraph g {
+                  A -> B
+                  B -> C
+                  B -> D
+                  D -> E
+                  C -> F
+                  C -> E
+                  F -> G
+                  E -> B
+                  B -> F
+                  G -> B
+                }"}""");
+        final Graph graph = graphBuilder.getGraph();
+        final Vertex exitVertex = graphBuilder.exitVertex();
+        final Map<String, List<String>> expectedDominators = Map.of(
+                "A", List.of("B", "F", "G"),
+                "B", List.of("F", "G"),
+                "E", List.of("B", "F", "G"),
+                "G", List.of());
+
+        for (int round = 0; round < 3; round++) {
+            for (String start: List.of("A", "B", "E", "G", "E", "A")) {
+                IDominatorsFinder finder = getFactory().createFinder(graph, graph.vertex(start), exitVertex);
+                then(asKeys(finder.computeDominators())).as("start %s, round %s", start, round)
+                        .containsExactlyElementsOf(expectedDominators.get(start));
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package edu.dominatorsfinder;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.assertj.core.api.BDDAssertions.thenExceptionOfType;
+
+class DotParserTest {
+
+    @Test
+    void parses_edge_chains_and_skips_attributes_and_comments() {
+        DotParser.ParsedGraph parsedGraph = DotParser.parse(new StringReader("""
+                strict digraph "name" {
+                    // line comment
+                    node [shape=box]; rankdir = LR
+                    A -> B -> "C" [label="x", weight=2][color=red]
+                    /* block
+                       comment */
+                    B -> A; 1.5 -> -2
+                    # preprocessor line
+                    "quoted \\"key\\"" Z
+                }
+                """));
+
+        then(parsedGraph.keys()).containsExactly("A", "B", "C", "1.5", "-2", "quoted \"key\"", "Z");
+        then(edges(parsedGraph)).containsExactly("A->B", "B->C", "B->A", "1.5->-2");
+    }
+
+    @Test
+    void keeps_duplicate_edges() {
+        DotParser.ParsedGraph parsedGraph = DotParser.parse(new StringReader("digraph { A -> B; A -> B; B -> B }"));
+
+        then(parsedGraph.keys()).containsExactly("A", "B");
+        then(edges(parsedGraph)).containsExactly("A->B", "A->B", "B->B");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "graph g { A -- B }",
+            "digraph g { subgraph s { A -> B } }",
+            "digraph g { A -> { B C } }",
+            "digraph g { A:port -> B }",
+            "digraph g { <html> -> B }",
+            "digraph g { A -> B } trailing",
+            "digraph g { A -> B ",
+            "digraph g { \"A\\nB\" -> C }",
+    })
+    void rejects_syntax_outside_of_the_supported_subset(String dot) {
+        thenExceptionOfType(DotParser.UnsupportedSyntaxException.class)
+                .isThrownBy(() -> DotParser.parse(new StringReader(dot)));
+    }
+
+    private static List<String> edges(DotParser.ParsedGraph parsedGraph) {
+        List<String> edges = new ArrayList<>();
+        for (int e = 0; e < parsedGraph.numberOfEdges(); e++) {
+            edges.add(parsedGraph.keys()[parsedGraph.sources()[e]] + "->" + parsedGraph.keys()[parsedGraph.targets()[e]]);
+        }
+        return edges;
+    }
+}
@@ -1,22 +1,34 @@
 package edu.dominatorsfinder;
 
-import edu.dominatorsfinder.naivedfs.DfsPayload;
+import edu.dominatorsfinder.heavyverticesbypass.HeavyBypassFinderFactory;
+import edu.dominatorsfinder.seminca.SemiNcaFinderFactory;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static edu.dominatorsfinder.Util.asKeys;
 import static org.assertj.core.api.BDDAssertions.then;
+import static org.assertj.core.api.BDDAssertions.thenExceptionOfType;
 
 class GraphBuilderTest {
 
     @Test
     void test_build_example_graph() {
-        GraphBuilder<DfsPayload> graphBuilder = new GraphBuilder<>();
-        graphBuilder.withPayloadFactoryFunction(DfsPayload::new);
+        GraphBuilder graphBuilder = new GraphBuilder();
         graphBuilder.build("{\"e1\": \"1\"," +
                 "\"e2\": \"7\"," +
                 "\"h\":\"2\"," +
                 "\"graph\": \" digraph graphname{\n1->2\n2->3\n2->5\n5->2\n3->5\n5->7}\"" +
                 "}");
-        Graph<DfsPayload> graph = graphBuilder.getGraph();
+        Graph graph = graphBuilder.getGraph();
 
         then(graphBuilder.startVertex().getId()).isEqualTo(1);
         then(graphBuilder.exitVertex().getId()).isEqualTo(4);
@@ -31,5 +43,249 @@ class GraphBuilderTest {
         then(graph.vertex(2).getOutgoingEdges()).containsExactly(3);
         then(graph.vertex(3).getOutgoingEdges()).containsExactly(1, 4);
         then(graph.vertex(4).getOutgoingEdges()).containsExactly();
+
+        // Primitive CSR accessors:
+        then(graph.outDegree(1)).isEqualTo(2);
+        then(graph.target(1, 0)).isEqualTo(2);
+        then(graph.target(1, 1)).isEqualTo(3);
+        then(graph.outDegree(4)).isZero();
+        then(graph.successors(3)).toIterable().containsExactly(1, 4);
+        then(graph.successors(4).hasNext()).isFalse();
+    }
+
+    @Test
+    void test_falls_back_to_jgrapht_importer_on_unsupported_syntax() {
+        GraphBuilder graphBuilder = new GraphBuilder();
+        graphBuilder.build("{\"h\": \"A\", \"e2\": \"C\"," +
+                "\"graph\": \"digraph g { subgraph s { A -> B; A -> B } B -> { C D } }\"" +
+                "}");
+        Graph graph = graphBuilder.getGraph();
+
+        then(graph.numberOfVertices()).isEqualTo(4);
+        then(graph.numberOfEdges()).isEqualTo(3);
+        then(graph.vertex("A").getOutgoingEdges()).containsExactly(graph.vertex("B").getId());
+        then(graph.vertex("B").getOutgoingEdges()).containsExactly(graph.vertex("C").getId(), graph.vertex("D").getId());
+        then(graphBuilder.startVertex().getKey()).isEqualTo("A");
+        then(graphBuilder.exitVertex().getKey()).isEqualTo("C");
+    }
+
+    @Test
+    void streams_large_graph_from_reader() {
+        final int numberOfVertices = 200_000;
+        final GraphBuilder graphBuilder = new GraphBuilder();
+        graphBuilder.parse(new ChainGraphReader(numberOfVertices, ""));
+        // NB: the graph member comes first, the other members are mapped all the same:
+        then(graphBuilder.getInputData().getExitNodeKey()).isEqualTo("v" + (numberOfVertices - 1));
+        then(graphBuilder.getInputData().getDotFormatGraph()).isNull();
+        graphBuilder.buildParsedGraph();
+
+        then(graphBuilder.getGraph().numberOfVertices()).isEqualTo(numberOfVertices);
+        then(graphBuilder.getGraph().numberOfEdges()).isEqualTo(numberOfVertices - 1);
+        then(graphBuilder.startVertex().getKey()).isEqualTo("v0");
+    }
+
+    @Test
+    void does_not_fall_back_to_jgrapht_importer_on_large_graph() {
+        final GraphBuilder smallGraphBuilder = new GraphBuilder();
+        smallGraphBuilder.parse(new ChainGraphReader(10, " subgraph s { v0 -> v9 }"));
+        then(smallGraphBuilder.getFingerprint().numberOfEdges()).isEqualTo(10);
+
+        thenExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> new GraphBuilder().parse(new ChainGraphReader(200_000, " subgraph s { v0 -> v9 }")))
+                .withMessageContaining("subgraphs are not supported")
+                .withMessageContaining("longer than " + GraphBuilder.DEFAULT_MAXIMUM_FALLBACK_LENGTH);
+        thenExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> new GraphBuilder().withMaximumFallbackLength(100)
+                        .parse(new ChainGraphReader(10, " subgraph s { v0 -> v9 }")))
+                .withMessageContaining("longer than 100");
+    }
+
+    @Test
+    void rejects_input_without_graph() {
+        thenExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> new GraphBuilder().parse("{\"h\": \"A\", \"graph\": \"\"}"))
+                .withMessage("Graph (\"graph\") must be given.");
+        thenExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> new GraphBuilder().parse("{\"h\": [\"A\"], \"graph\": \"digraph g { A }\"}"))
+                .withMessageStartingWith("Malformed JSON input");
+    }
+
+    /**
+     * Input JSON with the chain {@code v0 -> v1 -> ... } generated on the fly, so that the text is never held in memory.
+     */
+    private static final class ChainGraphReader extends Reader {
+        private final int numberOfVertices;
+        private final String extraStatements;
+        private int nextVertex;
+        private String pending = "{\"graph\": \"digraph g {";
+
+        ChainGraphReader(int numberOfVertices, String extraStatements) {
+            this.numberOfVertices = numberOfVertices;
+            this.extraStatements = extraStatements;
+        }
+
+        @Override
+        public int read(char[] chars, int from, int length) {
+            int count = 0;
+            while (count < length) {
+                if (pending.isEmpty()) {
+                    if (nextVertex + 1 < numberOfVertices) {
+                        pending = " v" + nextVertex + " -> v" + (nextVertex + 1) + ";";
+                    } else if (nextVertex + 1 == numberOfVertices) {
+                        pending = extraStatements + " }\", \"h\": \"v0\", \"e2\": \"v" + nextVertex + "\"}";
+                    } else {
+                        break;
+                    }
+                    nextVertex++;
+                }
+                final int chunk = Math.min(length - count, pending.length());
+                pending.getChars(0, chunk, chars, from + count);
+                pending = pending.substring(chunk);
+                count += chunk;
+            }
+            return count == 0 ? -1 : count;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(VertexLayout.class)
+    void vertex_layout_is_a_permutation_keeping_keys_and_edges(VertexLayout layout) {
+        final String json = "{\"e1\": \"1\", \"h\": \"2\", \"e2\": \"7\"," +
+                "\"graph\": \"digraph g { 9 -> 8; 1 -> 2; 2 -> 3; 2 -> 5; 5 -> 2; 3 -> 5; 5 -> 7; 8 -> 7 }\"}";
+        final GraphBuilder keyOrderBuilder = new GraphBuilder();
+        keyOrderBuilder.build(json);
+        final GraphBuilder graphBuilder = new GraphBuilder().withVertexLayout(layout);
+        graphBuilder.build(json);
+        final Graph graph = graphBuilder.getGraph();
+
+        then(graph.vertexStream().map(Vertex::getKey))
+                .containsExactlyInAnyOrderElementsOf(keyOrderBuilder.getGraph().vertexStream().map(Vertex::getKey).toList());
+        then(edgeKeys(graph)).isEqualTo(edgeKeys(keyOrderBuilder.getGraph()));
+        then(graphBuilder.startVertex().getKey()).isEqualTo("2");
+        then(graphBuilder.exitVertex().getKey()).isEqualTo("7");
+        switch (layout) {
+            case KEY_ORDER -> then(graph.vertexStream().map(Vertex::getKey)).isSorted();
+            case BFS -> then(graph.vertexStream().map(Vertex::getKey)).startsWith("1", "2", "3", "5", "7");
+            case DFS -> then(graph.vertexStream().map(Vertex::getKey)).startsWith("1", "2", "3", "5", "7");
+            case REVERSE_POST_ORDER -> then(graph.vertexStream().map(Vertex::getKey)).endsWith("1", "2", "3", "5", "7");
+            default -> { }
+        }
+    }
+
+    @Test
+    void reverse_post_order_layout_puts_unreachable_vertices_first() {
+        final GraphBuilder graphBuilder = new GraphBuilder().withVertexLayout(VertexLayout.REVERSE_POST_ORDER);
+        graphBuilder.build("{\"h\": \"1\", \"graph\": \"digraph g { 1 -> 2; 2 -> 3; 1 -> 3; 9 -> 8; 8 -> 3; 4 }\"}");
+        final Graph graph = graphBuilder.getGraph();
+
+        then(graph.vertexStream().map(Vertex::getKey)).endsWith("1", "2", "3");
+        then(graphBuilder.startVertex().getId()).isEqualTo(graph.numberOfVertices() - 3);
+        then(graph.vertex("9").getId()).isLessThan(graph.vertex("8").getId());
+        // NB: the graph is acyclic, so every edge goes to a greater id, also the one from the unreachable vertex:
+        for (int id = 0; id < graph.numberOfVertices(); id++) {
+            for (int i = 0; i < graph.outDegree(id); i++) {
+                then(graph.target(id, i)).as("edge from %s", graph.vertex(id).getKey()).isGreaterThan(id);
+            }
+        }
+    }
+
+    @Test
+    void key_order_layout_sorts_keys() {
+        final Random random = new Random(7);
+        for (int numberOfVertices: new int[] { 1, 15, 16, 17, 1000 }) {
+            final List<String> keys = new ArrayList<>();
+            final StringBuilder dot = new StringBuilder("digraph g {");
+            for (int i = 0; i < numberOfVertices; i++) {
+                final String key = "v" + Integer.toString(random.nextInt(1_000_000), 36) + "_" + i;
+                keys.add(key);
+                dot.append(' ').append(key).append(';');
+            }
+            final GraphBuilder graphBuilder = new GraphBuilder();
+            graphBuilder.build("{\"graph\": \"" + dot.append('}') + "\"}");
+
+            Collections.sort(keys);
+            then(graphBuilder.getGraph().vertexStream().map(Vertex::getKey).toList()).containsExactlyElementsOf(keys);
+        }
+    }
+
+    @Test
+    void reverse_cuthill_mckee_layout_minimizes_bandwidth_of_chain() {
+        final int length = 200;
+        final List<Integer> names = new ArrayList<>();
+        for (int i = 0; i < length; i++) {
+            names.add(i);
+        }
+        Collections.shuffle(names, new Random(5));
+        final StringBuilder dot = new StringBuilder("digraph g {");
+        for (int i = 1; i < length; i++) {
+            dot.append(" v").append(names.get(i - 1)).append(" -> v").append(names.get(i)).append(';');
+        }
+        final String json = "{\"graph\": \"" + dot.append('}') + "\"}";
+
+        final GraphBuilder keyOrderBuilder = new GraphBuilder();
+        keyOrderBuilder.build(json);
+        final GraphBuilder graphBuilder = new GraphBuilder().withVertexLayout(VertexLayout.REVERSE_CUTHILL_MCKEE);
+        graphBuilder.build(json);
+
+        then(bandwidth(keyOrderBuilder.getGraph())).isGreaterThan(length / 2);
+        then(bandwidth(graphBuilder.getGraph())).isEqualTo(1);
+    }
+
+    @ParameterizedTest
+    @EnumSource(VertexLayout.class)
+    void dominators_do_not_depend_on_vertex_layout(VertexLayout layout) {
+        final Random random = new Random(17);
+        for (int round = 0; round < 30; round++) {
+            final StringBuilder dot = new StringBuilder("digraph g {");
+            final int numberOfVertices = 2 + random.nextInt(20);
+            for (int e = random.nextInt(3 * numberOfVertices); e >= 0; e--) {
+                dot.append(" v").append(random.nextInt(numberOfVertices)).append(" -> v").append(random.nextInt(numberOfVertices)).append(';');
+            }
+            final String json = "{\"h\": \"v0\", \"graph\": \"" + dot.append('}') + "\"}";
+            final GraphBuilder keyOrderBuilder = new SemiNcaFinderFactory().createGraphBuilder();
+            keyOrderBuilder.build(json);
+            final GraphBuilder graphBuilder = new SemiNcaFinderFactory().createGraphBuilder().withVertexLayout(layout);
+            graphBuilder.build(json);
+
+            for (AbstractFinderFactory factory: List.of(new SemiNcaFinderFactory(), new HeavyBypassFinderFactory())) {
+                for (Vertex start: keyOrderBuilder.getGraph().vertexStream().toList()) {
+                    for (Vertex exit: keyOrderBuilder.getGraph().vertexStream().toList()) {
+                        then(query(factory, graphBuilder.getGraph(), start.getKey(), exit.getKey()))
+                                .isEqualTo(query(factory, keyOrderBuilder.getGraph(), start.getKey(), exit.getKey()));
+                    }
+                }
+            }
+        }
+    }
+
+    private static String query(AbstractFinderFactory factory, Graph graph, String startKey, String exitKey) {
+        try {
+            return asKeys(factory.createFinder(graph, graph.vertex(startKey), graph.vertex(exitKey)).computeDominators()).toString();
+        } catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+    }
+
+    private static Set<String> edgeKeys(Graph graph) {
+        final Set<String> edges = new HashSet<>();
+        for (int id = 0; id < graph.numberOfVertices(); id++) {
+            final String from = graph.vertex(id).getKey();
+            graph.forEachSuccessor(id, to -> edges.add(from + "->" + graph.vertex(to).getKey()));
+        }
+        return edges;
+    }
+
+    private static int bandwidth(Graph graph) {
+        int bandwidth = 0;
+        for (int id = 0; id < graph.numberOfVertices(); id++) {
+            for (int i = 0; i < graph.outDegree(id); i++) {
+                bandwidth = Math.max(bandwidth, Math.abs(graph.target(id, i) - id));
+            }
+        }
+        return bandwidth;
     }
-}
\ No newline at end of file
+}
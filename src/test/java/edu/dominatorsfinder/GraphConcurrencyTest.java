@@ -0,0 +1,160 @@
+package edu.dominatorsfinder;
+
+import edu.dominatorsfinder.cooperharveykennedy.CooperHarveyKennedyFinderFactory;
+import edu.dominatorsfinder.dijkstras.DijkstrasMinWeightPath;
+import edu.dominatorsfinder.heavyverticesbypass.HeavyBypassFinderFactory;
+import edu.dominatorsfinder.lengauertarjan.LengauerTarjanFinderFactory;
+import edu.dominatorsfinder.naivedfs.NaiveDfsFinderFactory;
+import edu.dominatorsfinder.pruning.ReachabilityPruningFinderFactory;
+import edu.dominatorsfinder.seminca.SemiNcaFinderFactory;
+import edu.dominatorsfinder.singlepair.SinglePairFinderFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static edu.dominatorsfinder.Util.asKeys;
+import static org.assertj.core.api.BDDAssertions.then;
+
+/**
+ * Stress test: one Graph instance is built once and queried by all the finders from many threads at once,
+ * the results must be the same as the ones computed sequentially.
+ */
+class GraphConcurrencyTest {
+
+    private static final int NUMBER_OF_VERTICES = 300;
+    private static final int NUMBER_OF_THREADS = 8;
+    private static final int QUERIES_PER_THREAD = 300;
+
+    /** NB: the Graph is shared by all the test cases, whatever the algorithm. */
+    private static final GraphBuilder GRAPH_BUILDER = new GraphBuilder();
+
+    static {
+        GRAPH_BUILDER.build(randomGraphJson(new Random(42)));
+    }
+
+    private static Stream<AbstractFinderFactory> factories() {
+        return Stream.concat(correctFactories(), Stream.of(new NaiveDfsFinderFactory()));
+    }
+
+    /** All the factories except the naive one, which is known to be wrong on some graphs. */
+    private static Stream<AbstractFinderFactory> correctFactories() {
+        return Stream.of(new SemiNcaFinderFactory(),
+                new LengauerTarjanFinderFactory(),
+                new CooperHarveyKennedyFinderFactory(),
+                new HeavyBypassFinderFactory(),
+                new HeavyBypassFinderFactory(DijkstrasMinWeightPath.QueueType.TREE_SET),
+                new HeavyBypassFinderFactory(DijkstrasMinWeightPath.QueueType.BUCKET, DijkstrasMinWeightPath.SearchMode.BIDIRECTIONAL),
+                new ReachabilityPruningFinderFactory(new SemiNcaFinderFactory()),
+                new SinglePairFinderFactory());
+    }
+
+    @ParameterizedTest
+    @MethodSource("factories")
+    void concurrent_queries_on_shared_graph_give_same_results(AbstractFinderFactory factory) throws Exception {
+        final Graph graph = GRAPH_BUILDER.getGraph();
+        final Vertex exitVertex = GRAPH_BUILDER.exitVertex();
+
+        final Map<String, String> expected = new HashMap<>();
+        graph.vertexStream().forEach(start -> expected.put(start.getKey(), query(factory, graph, start, exitVertex)));
+        then(expected.values()).anyMatch(result -> result.startsWith("IllegalArgumentException"));
+        then(expected.values()).anyMatch(result -> result.split(",").length > 2);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(NUMBER_OF_THREADS);
+        try {
+            final CountDownLatch startGate = new CountDownLatch(1);
+            final List<Future<List<String>>> futures = new ArrayList<>();
+            for (int t = 0; t < NUMBER_OF_THREADS; t++) {
+                final Random random = new Random(t);
+                futures.add(executor.submit(() -> {
+                    startGate.await();
+                    final List<String> mismatches = new ArrayList<>();
+                    for (int q = 0; q < QUERIES_PER_THREAD; q++) {
+                        final Vertex start = graph.vertex(random.nextInt(graph.numberOfVertices()));
+                        final String actual = query(factory, graph, start, exitVertex);
+                        if (!actual.equals(expected.get(start.getKey()))) {
+                            mismatches.add(start + ": " + actual);
+                        }
+                    }
+                    return mismatches;
+                }));
+            }
+            startGate.countDown();
+            for (Future<List<String>> future: futures) {
+                then(future.get(1, TimeUnit.MINUTES)).isEmpty();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /** Races all the algorithms on the same Graph: each thread runs its own algorithm for all the start vertices. */
+    @Test
+    void different_algorithms_share_one_graph() throws Exception {
+        final Graph graph = GRAPH_BUILDER.getGraph();
+        final Vertex exitVertex = GRAPH_BUILDER.exitVertex();
+        final List<AbstractFinderFactory> factories = correctFactories().toList();
+
+        final ExecutorService executor = Executors.newFixedThreadPool(factories.size());
+        try {
+            final CountDownLatch startGate = new CountDownLatch(1);
+            final List<Future<List<String>>> futures = new ArrayList<>();
+            for (AbstractFinderFactory factory: factories) {
+                futures.add(executor.submit(() -> {
+                    startGate.await();
+                    return graph.vertexStream().map(start -> query(factory, graph, start, exitVertex)).toList();
+                }));
+            }
+            startGate.countDown();
+            final List<String> expected = futures.get(0).get(1, TimeUnit.MINUTES);
+            for (Future<List<String>> future: futures) {
+                then(future.get(1, TimeUnit.MINUTES)).containsExactlyElementsOf(expected);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static String query(AbstractFinderFactory factory, Graph graph,
+                                Vertex start, Vertex exit) {
+        try {
+            return asKeys(factory.createFinder(graph, start, exit).computeDominators()).toString();
+        } catch (IllegalArgumentException e) {
+            return e.getClass().getSimpleName() + ": " + e.getMessage();
+        }
+    }
+
+    /**
+     * A chain {@code v0 -> v1 -> ... -> vN-1} with random extra edges between the chain vertices,
+     * so that there are both dominators and bypasses, plus dead-end vertices that cannot reach the exit.
+     */
+    private static String randomGraphJson(Random random) {
+        final StringBuilder dot = new StringBuilder("digraph g {");
+        for (int i = 0; i + 1 < NUMBER_OF_VERTICES; i++) {
+            dot.append(" v").append(i).append(" -> v").append(i + 1).append(';');
+            if (random.nextInt(3) == 0) {
+                final int target = Math.min(NUMBER_OF_VERTICES - 1, i + 2 + random.nextInt(4));
+                dot.append(" v").append(i).append(" -> v").append(target).append(';');
+            }
+            if (random.nextInt(4) == 0) {
+                dot.append(" v").append(i).append(" -> v").append(random.nextInt(i + 1)).append(';');
+            }
+            if (random.nextInt(10) == 0) {
+                dot.append(" v").append(i).append(" -> dead").append(i).append(';');
+            }
+        }
+        dot.append('}');
+        return "{\"h\": \"v0\", \"e2\": \"v" + (NUMBER_OF_VERTICES - 1) + "\", \"graph\": \"" + dot + "\"}";
+    }
+}
@@ -0,0 +1,53 @@
+package edu.dominatorsfinder;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+class GraphFingerprintTest {
+
+    @Test
+    void does_not_depend_on_formatting_and_order_of_statements() {
+        GraphFingerprint fingerprint = fingerprint("digraph g { A -> B -> C; B -> D }");
+
+        then(fingerprint("""
+                digraph other {
+                    // comment
+                    B -> D [color=red]
+                    B -> C
+                    A -> B
+                }""")).isEqualTo(fingerprint);
+        then(fingerprint.numberOfVertices()).isEqualTo(4);
+        then(fingerprint.numberOfEdges()).isEqualTo(3);
+    }
+
+    @Test
+    void does_not_depend_on_duplicate_edges() {
+        GraphFingerprint fingerprint = fingerprint("digraph g { A -> B; B -> C }");
+
+        then(fingerprint("digraph g { A -> B; B -> C; A -> B; A -> B -> C }")).isEqualTo(fingerprint);
+        then(fingerprint.numberOfEdges()).isEqualTo(2);
+    }
+
+    @Test
+    void depends_on_edge_direction_and_vertex_keys() {
+        GraphFingerprint fingerprint = fingerprint("digraph g { A -> B; B -> C }");
+
+        then(fingerprint("digraph g { B -> A; B -> C }")).isNotEqualTo(fingerprint);
+        then(fingerprint("digraph g { A -> B; B -> D }")).isNotEqualTo(fingerprint);
+        then(fingerprint("digraph g { A -> B; B -> C; X }")).isNotEqualTo(fingerprint);
+    }
+
+    @Test
+    void is_the_same_for_jgrapht_importer() {
+        final String dot = "digraph g { A -> B; B -> C; C -> A; D }";
+
+        then(new GraphBuilder().importGraphWithJGrapht(dot).fingerprint()).isEqualTo(fingerprint(dot));
+    }
+
+    private static GraphFingerprint fingerprint(String dot) {
+        return DotParser.parse(new StringReader(dot)).fingerprint();
+    }
+}
@@ -0,0 +1,122 @@
+package edu.dominatorsfinder;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.assertj.core.api.BDDAssertions.thenExceptionOfType;
+
+class GraphTest {
+
+    private static Graph buildGraph(String dot) {
+        GraphBuilder graphBuilder = new GraphBuilder();
+        graphBuilder.build("{\"graph\": \"" + dot + "\"}");
+        return graphBuilder.getGraph();
+    }
+
+    @Test
+    void primitive_traversal() {
+        final Graph graph = buildGraph("digraph g { A -> B; A -> C; B -> C; C -> A; D }");
+        then(graph.numberOfVertices()).isEqualTo(4);
+        then(graph.numberOfEdges()).isEqualTo(4);
+
+        final List<Integer> vertexIds = new ArrayList<>();
+        graph.forEachVertex(vertexIds::add);
+        then(vertexIds).containsExactly(0, 1, 2, 3);
+
+        final List<Integer> successors = new ArrayList<>();
+        graph.forEachSuccessor(0, successors::add);
+        then(successors).containsExactly(1, 2);
+        successors.clear();
+        graph.forEachSuccessor(3, successors::add);
+        then(successors).isEmpty();
+
+        final Graph.SuccessorCursor cursor = graph.newSuccessorCursor();
+        then(cursor.hasNext()).isFalse();
+        then(cursor.reset(0)).toIterable().containsExactly(1, 2);
+        then(cursor.reset(2)).toIterable().containsExactly(0);
+        then(cursor.reset(3).hasNext()).isFalse();
+
+        then(graph.outgoingVertices(graph.vertex("A"))).extracting(Vertex::getKey).containsExactly("B", "C");
+        then(graph.outgoingVertices(graph.vertex("D"))).isEmpty();
+    }
+
+    @Test
+    void predecessors() {
+        final String dot = "digraph g { A -> B; A -> C; B -> C; C -> A; D }";
+        final Graph lazyGraph = buildGraph(dot);
+        final GraphBuilder graphBuilder = new GraphBuilder().withReverseAdjacency();
+        graphBuilder.build("{\"graph\": \"" + dot + "\"}");
+        final Graph eagerGraph = graphBuilder.getGraph();
+
+        for (Graph graph: List.of(lazyGraph, eagerGraph)) {
+            then(graph.inDegree(0)).isEqualTo(1);
+            then(graph.source(0, 0)).isEqualTo(2);
+            final List<Integer> predecessors = new ArrayList<>();
+            graph.forEachPredecessor(2, predecessors::add);
+            then(predecessors).containsExactly(0, 1);
+            then(graph.inDegree(3)).isZero();
+            // built once, then shared:
+            then(graph.reverseAdjacency()).isSameAs(graph.reverseAdjacency());
+        }
+    }
+
+    @Test
+    void acyclic_graph_has_topological_order() {
+        final Graph graph = buildGraph("digraph g { D -> B; B -> A; D -> C; C -> A; E }");
+        then(graph.isAcyclic()).isTrue();
+        final int[] position = new int[graph.numberOfVertices()];
+        for (int p = 0; p < graph.numberOfVertices(); p++) {
+            position[graph.topologicalOrder(p)] = p;
+        }
+        then(position).doesNotHaveDuplicates();
+        for (int v = 0; v < graph.numberOfVertices(); v++) {
+            final int from = v;
+            graph.forEachSuccessor(v, to -> then(position[from]).isLessThan(position[to]));
+        }
+
+        // found once, then shared:
+        then(graph.isAcyclic()).isTrue();
+
+        then(buildGraph("digraph g { A -> B; B -> C; C -> A }").isAcyclic()).isFalse();
+        final Graph selfLoop = buildGraph("digraph g { A -> B; B -> B }");
+        then(selfLoop.isAcyclic()).isFalse();
+        thenExceptionOfType(IllegalStateException.class).isThrownBy(() -> selfLoop.topologicalOrder(0));
+    }
+
+    @Test
+    void traversal_does_not_allocate_per_edge() {
+        final StringBuilder dot = new StringBuilder("digraph g {");
+        for (int i = 0; i < 10_000; i++) {
+            dot.append(" v").append(i).append(" -> v").append((i + 1) % 10_000)
+                    .append("; v").append(i).append(" -> v").append((i * 7) % 10_000).append(';');
+        }
+        final Graph graph = buildGraph(dot.append('}').toString());
+        final Graph.SuccessorCursor cursor = graph.newSuccessorCursor();
+        final long[] sum = new long[1];
+        final IntConsumer adder = id -> sum[0] += id;
+
+        final com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long allocatedBytes = Long.MAX_VALUE;
+        // NB: the first rounds may allocate for class loading and JIT, so the minimum over several rounds is taken:
+        for (int round = 0; round < 5; round++) {
+            final long before = threadBean.getCurrentThreadAllocatedBytes();
+            for (int v = 0; v < graph.numberOfVertices(); v++) {
+                graph.forEachSuccessor(v, adder);
+                cursor.reset(v);
+                while (cursor.hasNext()) {
+                    sum[0] += cursor.nextInt();
+                }
+            }
+            allocatedBytes = Math.min(allocatedBytes, threadBean.getCurrentThreadAllocatedBytes() - before);
+        }
+
+        then(sum[0]).isPositive();
+        // far less than a single object per edge (there are 20000 of them):
+        then(allocatedBytes).isLessThan(1024);
+    }
+}
@@ -0,0 +1,122 @@
+package edu.dominatorsfinder;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.assertj.core.api.BDDAssertions.thenExceptionOfType;
+
+class JsonEnvelopeReaderTest {
+
+    private final List<String> streamed = new ArrayList<>();
+
+    private String read(String json) {
+        return JsonEnvelopeReader.read(new StringReader(json), "graph", reader -> streamed.add(readFully(reader)));
+    }
+
+    private static String readFully(Reader reader) {
+        try {
+            final StringBuilder text = new StringBuilder();
+            final char[] chars = new char[3];
+            int count;
+            while ((count = reader.read(chars, 0, chars.length)) >= 0) {
+                text.append(chars, 0, count);
+            }
+            return text.toString();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Test
+    void streams_the_member_and_copies_the_others() {
+        final String envelope = read("""
+                 {"e2": "7", "graph": "digraph g {\\n\\"a b\\" -> \\u0041\\t}", "hs": ["1", "2"],
+                  "pairs": [["u", "v,}"]], "n": 1.50, "h": null}
+                """);
+
+        then(streamed).containsExactly("digraph g {\n\"a b\" -> A\t}");
+        final JsonObject object = JsonParser.parseString(envelope).getAsJsonObject();
+        then(object.keySet()).containsExactly("e2", "hs", "pairs", "n", "h");
+        then(object.get("e2").getAsString()).isEqualTo("7");
+        then(object.get("hs").getAsJsonArray()).hasSize(2);
+        then(object.get("pairs").getAsJsonArray().get(0).getAsJsonArray().get(1).getAsString()).isEqualTo("v,}");
+        then(object.get("n").getAsString()).isEqualTo("1.50");
+        then(object.get("h").isJsonNull()).isTrue();
+    }
+
+    @Test
+    void accepts_lenient_strings_and_skips_the_rest_of_the_streamed_member() {
+        final String envelope = JsonEnvelopeReader.read(new StringReader("{'h': '2', \"graph\": \"digraph g {\n1 -> 2 }\"}"),
+                "graph", reader -> streamed.add(String.valueOf((char) readOne(reader))));
+        then(streamed).containsExactly("d");
+        then(JsonParser.parseString(envelope).getAsJsonObject().get("h").getAsString()).isEqualTo("2");
+    }
+
+    @Test
+    void accepts_lenient_names_separators_and_comments() {
+        final String envelope = read("""
+                 // the graph:
+                 {graph: "digraph g { A -> B }", # the start
+                  e2 = 'B'; /* no; exit, } */ h => "A",
+                  hs: ["A", // one more
+                       'B']
+                 } # done
+                """);
+
+        then(streamed).containsExactly("digraph g { A -> B }");
+        final JsonObject object = JsonParser.parseString(envelope).getAsJsonObject();
+        then(object.keySet()).containsExactly("e2", "h", "hs");
+        then(object.get("e2").getAsString()).isEqualTo("B");
+        then(object.get("h").getAsString()).isEqualTo("A");
+        then(object.get("hs").getAsJsonArray()).hasSize(2);
+    }
+
+    private static int readOne(Reader reader) {
+        try {
+            return reader.read();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Test
+    void empty_or_absent_member_is_not_streamed() {
+        then(read("{\"graph\": \"\", \"e2\": \"7\"}")).isEqualTo("{\"e2\":\"7\"}");
+        then(read("{}")).isEqualTo("{}");
+        // not a string, so it is left to the JSON mapping:
+        then(read("{\"graph\": null}")).isEqualTo("{\"graph\":null}");
+        then(streamed).isEmpty();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "",
+            "[]",
+            "{\"h\": \"2\"",
+            "{\"h\" \"2\"}",
+            "{: \"2\"}",
+            "{\"h\" -> \"2\"}",
+            "{\"h\": \"2\" / \"3\"}",
+            "{\"h\": \"2\"} /* unterminated",
+            "{\"h\": [\"2\"]]}",
+            "{\"h\": \"2\"} {}",
+            "{\"graph\": \"digraph g {}",
+            "{\"graph\": \"\\x\"}",
+            "{\"graph\": \"\\u00g0\"}",
+            "{\"graph\": \"a\", \"graph\": \"b\"}",
+    })
+    void rejects_malformed_input(String json) {
+        thenExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> read(json));
+    }
+}
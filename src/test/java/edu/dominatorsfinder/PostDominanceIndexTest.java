@@ -0,0 +1,99 @@
+package edu.dominatorsfinder;
+
+import edu.dominatorsfinder.seminca.SemiNcaFinderFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.assertj.core.api.BDDAssertions.thenExceptionOfType;
+
+class PostDominanceIndexTest {
+
+    private final SemiNcaFinderFactory factory = new SemiNcaFinderFactory();
+
+    @Test
+    void answers_post_dominance_and_nearest_common_post_dominator() {
+        GraphBuilder graphBuilder = factory.createGraphBuilder();
+        graphBuilder.build("""
+                {
+                  "h": "A",
+                  "e2": "G",
+                  "graph": "digraph graphname{
+                    A -> B
+                    B -> C
+                    B -> D
+                    D -> E
+                    C -> F
+                    C -> E
+                    F -> G
+                    E -> B
+                    B -> F
+                    G -> B
+                    G -> Z
+                  }"
+                }""");
+        final Graph graph = graphBuilder.getGraph();
+        PostDominanceIndex index = new PostDominanceIndex(factory.createPostDominatorTree(graph, graphBuilder.exitVertex()));
+
+        then(index.postDominates(graph.vertex("B"), graph.vertex("D"))).isTrue();
+        then(index.postDominates(graph.vertex("G"), graph.vertex("D"))).isTrue();
+        then(index.postDominates(graph.vertex("D"), graph.vertex("D"))).isTrue();
+        then(index.postDominates(graph.vertex("D"), graph.vertex("B"))).isFalse();
+        then(index.postDominates(graph.vertex("C"), graph.vertex("D"))).isFalse();
+        then(index.postDominates(graph.vertex("G"), graph.vertex("Z"))).isFalse();
+
+        then(index.nearestCommonPostDominator(graph.vertex("D"), graph.vertex("A")).getKey()).isEqualTo("B");
+        then(index.nearestCommonPostDominator(graph.vertex("D"), graph.vertex("C")).getKey()).isEqualTo("F");
+        then(index.nearestCommonPostDominator(graph.vertex("E"), graph.vertex("D")).getKey()).isEqualTo("E");
+        then(index.nearestCommonPostDominator(graph.vertex("G"), graph.vertex("G")).getKey()).isEqualTo("G");
+        thenExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> index.nearestCommonPostDominator(graph.vertex("Z"), graph.vertex("A")));
+    }
+
+    @Test
+    void agrees_with_dominator_lists_on_random_graphs() {
+        final Random random = new Random(42);
+        for (int round = 0; round < 50; round++) {
+            final int numberOfVertices = 2 + random.nextInt(40);
+            final StringBuilder dot = new StringBuilder("digraph g {");
+            for (int v = 0; v < numberOfVertices; v++) {
+                dot.append(' ').append(v);
+                for (int i = random.nextInt(3); i >= 0; i--) {
+                    dot.append(' ').append(v).append(" -> ").append(random.nextInt(numberOfVertices));
+                }
+            }
+            dot.append(" }");
+            GraphBuilder graphBuilder = factory.createGraphBuilder();
+            graphBuilder.build("{\"e2\": \"0\", \"graph\": \"" + dot + "\"}");
+            final Graph graph = graphBuilder.getGraph();
+            final PostDominatorTree tree = factory.createPostDominatorTree(graph, graphBuilder.exitVertex());
+            final PostDominanceIndex index = new PostDominanceIndex(tree);
+
+            for (int u = 0; u < numberOfVertices; u++) {
+                for (int v = 0; v < numberOfVertices; v++) {
+                    final Vertex uVertex = graph.vertex(u);
+                    final Vertex vVertex = graph.vertex(v);
+                    if (!tree.contains(uVertex) || !tree.contains(vVertex)) {
+                        then(index.postDominates(uVertex, vVertex)).isFalse();
+                        continue;
+                    }
+                    final List<Vertex> uDominators = withSelf(tree, uVertex);
+                    final List<Vertex> vDominators = withSelf(tree, vVertex);
+                    then(index.postDominates(uVertex, vVertex)).isEqualTo(vDominators.contains(uVertex));
+                    final Vertex expectedNearest = vDominators.stream().filter(uDominators::contains).findFirst().orElseThrow();
+                    then(index.nearestCommonPostDominator(uVertex, vVertex)).isSameAs(expectedNearest);
+                }
+            }
+        }
+    }
+
+    private static List<Vertex> withSelf(PostDominatorTree tree, Vertex vertex) {
+        final List<Vertex> dominators = new ArrayList<>();
+        dominators.add(vertex);
+        dominators.addAll(tree.dominatorsOf(vertex));
+        return dominators;
+    }
+}
@@ -0,0 +1,68 @@
+package edu.dominatorsfinder;
+
+import edu.dominatorsfinder.cooperharveykennedy.CooperHarveyKennedyFinderFactory;
+import edu.dominatorsfinder.lengauertarjan.LengauerTarjanFinderFactory;
+import edu.dominatorsfinder.seminca.SemiNcaFinderFactory;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.stream.Stream;
+
+import static edu.dominatorsfinder.Util.asKeys;
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.assertj.core.api.BDDAssertions.thenExceptionOfType;
+
+class PostDominatorTreeTest {
+
+    private static Stream<AbstractPostDominatorTreeFinderFactory> factories() {
+        return Stream.of(new LengauerTarjanFinderFactory(), new SemiNcaFinderFactory(), new CooperHarveyKennedyFinderFactory());
+    }
+
+    @ParameterizedTest
+    @MethodSource("factories")
+    void answers_queries_for_all_vertices(AbstractPostDominatorTreeFinderFactory factory) {
+        GraphBuilder graphBuilder = factory.createGraphBuilder();
+        graphBuilder.build("""
+                {
+                  "h": "A",
+                  "e2": "G",
+                  "graph": "digraph graphname{
+                    A -> B
+                    B -> C
+                    B -> D
+                    D -> E
+                    C -> F
+                    C -> E
+                    F -> G
+                    E -> B
+                    B -> F
+                    G -> B
+                    G -> Z
+                  }"
+                }""");
+        final Graph graph = graphBuilder.getGraph();
+
+        PostDominatorTree tree = factory.createPostDominatorTree(graph, graphBuilder.exitVertex());
+
+        then(tree.getExitVertex().getKey()).isEqualTo("G");
+        then(asKeys(tree.dominatorsOf(graph.vertex("A")))).containsExactly("B", "F", "G");
+        then(asKeys(tree.dominatorsOf(graph.vertex("D")))).containsExactly("E", "B", "F", "G");
+        then(asKeys(tree.dominatorsOf(graph.vertex("C")))).containsExactly("F", "G");
+        then(tree.dominatorsOf(graph.vertex("G"))).isEmpty();
+
+        then(tree.immediateDominator(graph.vertex("D")).getKey()).isEqualTo("E");
+        then(tree.immediateDominator(graph.vertex("G"))).isNull();
+        then(tree.depth(graph.vertex("D"))).isEqualTo(4);
+        then(tree.depth(graph.vertex("G"))).isZero();
+
+        then(asKeys(tree.children(graph.vertex("F")))).containsExactly("B", "C");
+        then(asKeys(tree.subtree(graph.vertex("B")))).containsExactly("B", "A", "E", "D");
+        then(asKeys(tree.subtree(graph.vertex("G")))).containsExactly("G", "F", "B", "A", "E", "D", "C");
+
+        // Z cannot reach the exit, so it is not in the tree:
+        then(tree.contains(graph.vertex("Z"))).isFalse();
+        thenExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> tree.dominatorsOf(graph.vertex("Z")))
+                .withMessage("Exit vertex [G] appears to be unreachable from the start node [Z]");
+    }
+}
@@ -0,0 +1,56 @@
+package edu.dominatorsfinder;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.assertj.core.api.BDDAssertions.thenExceptionOfType;
+
+class VertexKeysTest {
+
+    @Test
+    void lookup_by_key_and_by_id() {
+        final VertexKeys keys = VertexKeys.of(new String[] { "A", "", "Ünïcödé", "vertex_42", "日本" });
+        then(keys.size()).isEqualTo(5);
+        for (int id = 0; id < keys.size(); id++) {
+            then(keys.id(keys.key(id))).isEqualTo(id);
+        }
+        then(keys.key(2)).isEqualTo("Ünïcödé");
+        then(keys.key(1)).isEmpty();
+        then(keys.id("B")).isEqualTo(-1);
+        then(keys.id("vertex_4")).isEqualTo(-1);
+        then(keys.id("日")).isEqualTo(-1);
+
+        then(VertexKeys.of(new String[0]).id("A")).isEqualTo(-1);
+    }
+
+    @Test
+    void many_keys_with_shared_prefixes() {
+        final String[] array = new String[10_000];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = "v" + i;
+        }
+        final VertexKeys keys = VertexKeys.of(array);
+        for (int i = 0; i < array.length; i++) {
+            then(keys.id("v" + i)).isEqualTo(i);
+        }
+        then(keys.id("v10000")).isEqualTo(-1);
+    }
+
+    @Test
+    void subset_keeps_the_keys_of_the_selected_ids() {
+        final VertexKeys keys = VertexKeys.of(new String[] { "A", "B", "C", "D" });
+        final VertexKeys subset = keys.subset(new int[] { 1, 3 });
+        then(subset.size()).isEqualTo(2);
+        then(subset.key(0)).isEqualTo("B");
+        then(subset.key(1)).isEqualTo("D");
+        then(subset.id("D")).isEqualTo(1);
+        then(subset.id("A")).isEqualTo(-1);
+    }
+
+    @Test
+    void duplicate_keys_are_rejected() {
+        thenExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> VertexKeys.of(new String[] { "A", "B", "A" }))
+                .withMessageContaining("[A]");
+    }
+}
@@ -0,0 +1,98 @@
+package edu.dominatorsfinder.acyclic;
+
+import edu.dominatorsfinder.Graph;
+import edu.dominatorsfinder.GraphBuilder;
+import edu.dominatorsfinder.PostDominatorTree;
+import edu.dominatorsfinder.Vertex;
+import edu.dominatorsfinder.seminca.SemiNcaDominatorsFinder;
+import edu.dominatorsfinder.seminca.SemiNcaFinderFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static edu.dominatorsfinder.Util.asKeys;
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.assertj.core.api.BDDAssertions.thenExceptionOfType;
+
+class AcyclicDominatorsFinderTest {
+
+    private final AcyclicFinderFactory factory = new AcyclicFinderFactory();
+
+    private GraphBuilder build(String json) {
+        GraphBuilder graphBuilder = factory.createGraphBuilder();
+        graphBuilder.build(json);
+        return graphBuilder;
+    }
+
+    @Test
+    void acyclic_graph_skips_general_engine() {
+        GraphBuilder graphBuilder = build("{\"h\": \"A\", \"e2\": \"F\", \"graph\": \"digraph g { A -> B; A -> C; B -> D; C -> D; D -> E; D -> F; E -> F; C -> G }\"}");
+        final Graph graph = graphBuilder.getGraph();
+        then(graph.isAcyclic()).isTrue();
+
+        then(factory.createFinder(graph, graphBuilder.startVertex(), graphBuilder.exitVertex()))
+                .isInstanceOf(AcyclicDominatorsFinder.class);
+        then(asKeys(factory.createFinder(graph, graphBuilder.startVertex(), graphBuilder.exitVertex()).computeDominators()))
+                .containsExactly("D", "F");
+    }
+
+    @Test
+    void cyclic_graph_falls_back_to_general_engine() {
+        GraphBuilder graphBuilder = build("{\"h\": \"A\", \"e2\": \"C\", \"graph\": \"digraph g { A -> B; B -> A; B -> C }\"}");
+        final Graph graph = graphBuilder.getGraph();
+        then(graph.isAcyclic()).isFalse();
+
+        then(factory.createFinder(graph, graphBuilder.startVertex(), graphBuilder.exitVertex()))
+                .isInstanceOf(SemiNcaDominatorsFinder.class);
+        thenExceptionOfType(IllegalArgumentException.class).isThrownBy(() ->
+                new AcyclicDominatorsFinder(graph, graphBuilder.startVertex(), graphBuilder.exitVertex()));
+    }
+
+    @Test
+    void deep_chain_does_not_overflow_the_stack() {
+        final int length = 200_000;
+        StringBuilder dot = new StringBuilder("digraph g {");
+        for (int i = 1; i < length; i++) {
+            dot.append(" v").append(i - 1).append(" -> v").append(i).append(';');
+        }
+        GraphBuilder graphBuilder = build("{\"h\": \"v0\", \"e2\": \"v" + (length - 1) + "\", \"graph\": \"" + dot.append('}') + "\"}");
+
+        List<Vertex> dominators = factory.createFinder(graphBuilder.getGraph(), graphBuilder.startVertex(), graphBuilder.exitVertex())
+                .computeDominators();
+
+        then(dominators).hasSize(length - 1);
+        then(dominators.get(length - 2).getKey()).isEqualTo("v" + (length - 1));
+    }
+
+    @Test
+    void random_dags_agree_with_semi_nca() {
+        final Random random = new Random(3);
+        final SemiNcaFinderFactory semiNcaFactory = new SemiNcaFinderFactory();
+        for (int round = 0; round < 200; round++) {
+            final int numberOfVertices = 2 + random.nextInt(40);
+            final StringBuilder dot = new StringBuilder("digraph g {");
+            for (int v = 0; v < numberOfVertices; v++) {
+                dot.append(" v").append(v).append(';');
+            }
+            // NB: edges only go from a smaller number to a larger one, so the graph is acyclic:
+            for (int e = random.nextInt(3 * numberOfVertices); e > 0; e--) {
+                final int from = random.nextInt(numberOfVertices - 1);
+                dot.append(" v").append(from).append(" -> v").append(from + 1 + random.nextInt(numberOfVertices - from - 1)).append(';');
+            }
+            final GraphBuilder graphBuilder = build("{\"graph\": \"" + dot.append('}') + "\"}");
+            final Graph graph = graphBuilder.getGraph();
+            then(graph.isAcyclic()).isTrue();
+
+            final Vertex exitVertex = graph.vertex(random.nextInt(numberOfVertices));
+            final PostDominatorTree tree = factory.createPostDominatorTree(graph, exitVertex);
+            final PostDominatorTree expectedTree = semiNcaFactory.createPostDominatorTree(graph, exitVertex);
+            graph.vertexStream().forEach(vertex -> {
+                then(tree.contains(vertex)).isEqualTo(expectedTree.contains(vertex));
+                if (expectedTree.contains(vertex)) {
+                    then(tree.immediateDominator(vertex)).as("%s", vertex).isEqualTo(expectedTree.immediateDominator(vertex));
+                }
+            });
+        }
+    }
+}
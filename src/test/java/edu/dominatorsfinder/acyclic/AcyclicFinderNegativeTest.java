@@ -0,0 +1,11 @@
+package edu.dominatorsfinder.acyclic;
+
+import edu.dominatorsfinder.AbstractFinderFactory;
+import edu.dominatorsfinder.AbstractDominatorsFinderNegativeCasesTest;
+
+public class AcyclicFinderNegativeTest extends AbstractDominatorsFinderNegativeCasesTest {
+    @Override
+    protected AbstractFinderFactory getFactory() {
+        return new AcyclicFinderFactory();
+    }
+}
@@ -0,0 +1,13 @@
+package edu.dominatorsfinder.acyclic;
+
+import edu.dominatorsfinder.*;
+
+public class AcyclicFinderPositiveTest extends AbstractDominatorsFinderPositiveTest {
+
+    private final AbstractFinderFactory algorithmHelper = new AcyclicFinderFactory();
+
+    @Override
+    protected AbstractFinderFactory getFactory() {
+        return algorithmHelper;
+    }
+}
@@ -0,0 +1,11 @@
+package edu.dominatorsfinder.cooperharveykennedy;
+
+import edu.dominatorsfinder.AbstractFinderFactory;
+import edu.dominatorsfinder.AbstractDominatorsFinderNegativeCasesTest;
+
+public class CooperHarveyKennedyFinderNegativeTest extends AbstractDominatorsFinderNegativeCasesTest {
+    @Override
+    protected AbstractFinderFactory getFactory() {
+        return new CooperHarveyKennedyFinderFactory();
+    }
+}
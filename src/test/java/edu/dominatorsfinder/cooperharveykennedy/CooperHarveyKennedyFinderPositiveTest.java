@@ -0,0 +1,13 @@
+package edu.dominatorsfinder.cooperharveykennedy;
+
+import edu.dominatorsfinder.*;
+
+public class CooperHarveyKennedyFinderPositiveTest extends AbstractDominatorsFinderPositiveTest {
+
+    private final AbstractFinderFactory algorithmHelper = new CooperHarveyKennedyFinderFactory();
+
+    @Override
+    protected AbstractFinderFactory getFactory() {
+        return algorithmHelper;
+    }
+}
@@ -0,0 +1,82 @@
+package edu.dominatorsfinder.dijkstras;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+class BucketQueueTest {
+
+    @Test
+    void polls_in_distance_order_with_wrap_around() {
+        BucketQueue queue = new BucketQueue(4, 5);
+        queue.add(0, 7);
+        queue.add(1, 12);
+        queue.add(2, 9);
+
+        then(queue.pollMin()).isEqualTo(0);
+        queue.add(3, 11);
+        queue.decrease(1, 10);
+        then(queue.pollMin()).isEqualTo(2);
+        then(queue.pollMin()).isEqualTo(1);
+        then(queue.pollMin()).isEqualTo(3);
+        then(queue.isEmpty()).isTrue();
+    }
+
+    @Test
+    void min_distance_peeks_and_clear_empties() {
+        final BucketQueue queue = new BucketQueue(4, 5);
+        queue.add(0, 7);
+        queue.add(1, 12);
+        then(queue.minDistance()).isEqualTo(7);
+        then(queue.pollMin()).isEqualTo(0);
+        queue.add(2, 9);
+        then(queue.minDistance()).isEqualTo(9);
+        then(queue.size()).isEqualTo(2);
+
+        queue.clear();
+        then(queue.isEmpty()).isTrue();
+        then(queue.contains(1)).isFalse();
+        then(queue.contains(2)).isFalse();
+
+        // reusable with any start distance, as after reset():
+        queue.add(3, 100);
+        queue.add(1, 101);
+        then(queue.pollMin()).isEqualTo(3);
+        then(queue.pollMin()).isEqualTo(1);
+        then(queue.isEmpty()).isTrue();
+    }
+
+    @Test
+    void agrees_with_binary_heap_on_dijkstra_like_workload() {
+        final Random random = new Random(7);
+        final int numberOfVertices = 5_000;
+        final int maxWeight = 10_000; // NB: more than 4096 buckets, so that the summary bitmap is exercised
+        final BucketQueue queue = new BucketQueue(numberOfVertices, maxWeight);
+        final PriorityQueue<Long> expected = new PriorityQueue<>();
+        final int[] distance = new int[numberOfVertices];
+        int nextId = 0;
+        int lastPolled = 0;
+
+        queue.add(nextId, 0);
+        expected.add((long) 0 << 32 | nextId);
+        nextId++;
+        while (!queue.isEmpty()) {
+            final int id = queue.pollMin();
+            final long min = expected.poll();
+            then(distance[id]).isEqualTo((int) (min >>> 32));
+            then(distance[id]).isGreaterThanOrEqualTo(lastPolled);
+            lastPolled = distance[id];
+            for (int i = random.nextInt(3); i > 0 && nextId < numberOfVertices; i--) {
+                final int newDistance = lastPolled + (random.nextBoolean() ? 1 : maxWeight);
+                distance[nextId] = newDistance;
+                queue.add(nextId, newDistance);
+                expected.add((long) newDistance << 32 | nextId);
+                nextId++;
+            }
+        }
+        then(expected).isEmpty();
+    }
+}
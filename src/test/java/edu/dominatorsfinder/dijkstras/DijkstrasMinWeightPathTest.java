@@ -2,19 +2,23 @@ package edu.dominatorsfinder.dijkstras;
 
 import edu.dominatorsfinder.Graph;
 import edu.dominatorsfinder.GraphBuilder;
-import edu.dominatorsfinder.Vertex;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 
 import static org.assertj.core.api.BDDAssertions.then;
+import static org.assertj.core.api.BDDAssertions.thenThrownBy;
 
 class DijkstrasMinWeightPathTest {
 
-    @Test
-    void test() {
-        GraphBuilder<DijPayload> graphBuilder = new GraphBuilder<>();
-        graphBuilder.withPayloadFactoryFunction(DijPayload::new);
+    @ParameterizedTest
+    @EnumSource(DijkstrasMinWeightPath.QueueType.class)
+    void test(DijkstrasMinWeightPath.QueueType queueType) {
+        GraphBuilder graphBuilder = new GraphBuilder();
         graphBuilder.build("""
                 {"e2": "E",
                  "h": "C",
@@ -25,25 +29,116 @@ class DijkstrasMinWeightPathTest {
                     D->B
                     C->D
                     D->E
+                    A->F
+                    F->E
                    }"
                 }
                 """);
-        final Graph<DijPayload> graph = graphBuilder.getGraph();
+        final Graph graph = graphBuilder.getGraph();
+
+        final int startId = graph.vertex("A").getId();
+        final int exitId = graph.vertex("E").getId();
+        final DijkstrasWorkspace workspace = new DijkstrasWorkspace(graph.numberOfVertices());
+
+        int[] path = DijkstrasMinWeightPath.computeMinWeightPath(graph, startId, exitId, workspace, 1, queueType);
+        then(keys(graph, path)).containsExactly("A", "F", "E");
+        then(workspace.distance(exitId)).isEqualTo(2);
+
+        workspace.setWeight(graph.vertex("F").getId(), 10); // heavy vertex
+        path = DijkstrasMinWeightPath.computeMinWeightPath(graph, startId, exitId, workspace, 10, queueType);
+        then(keys(graph, path)).containsExactly("A", "B", "D", "E");
+        then(workspace.distance(exitId)).isEqualTo(3);
+
+        workspace.setWeight(graph.vertex("D").getId(), 10);
+        path = DijkstrasMinWeightPath.computeMinWeightPath(graph, startId, exitId, workspace, 10, queueType);
+        then(keys(graph, path)).containsExactly("A", "F", "E");
+        then(workspace.distance(graph.vertex("C").getId())).isEqualTo(2);
+        then(workspace.parent(startId)).isEqualTo(DijkstrasWorkspace.NO_VERTEX);
+    }
 
-        final Vertex<DijPayload> startVertex = graph.vertex("A");
-        final Vertex<DijPayload> exitVertex = graph.vertex("E");
+    @ParameterizedTest
+    @EnumSource(DijkstrasMinWeightPath.QueueType.class)
+    void search_stops_when_target_is_settled(DijkstrasMinWeightPath.QueueType queueType) {
+        GraphBuilder graphBuilder = new GraphBuilder();
+        graphBuilder.build("{\"graph\": \"digraph g { A -> B; B -> C; A -> X; X -> Y; Y -> Z; Z -> C }\"}");
+        final Graph graph = graphBuilder.getGraph();
+        final DijkstrasWorkspace workspace = new DijkstrasWorkspace(graph.numberOfVertices());
+        workspace.setWeight(graph.vertex("X").getId(), 2);
 
-        List<Vertex<DijPayload>> path = DijkstrasMinWeightPath.computeMinWeightPath(graph, startVertex, exitVertex, (v1, v2) -> 1, 1);
-        List<String> keys = path.stream().map(Vertex::getKey).toList();
-        then(keys).containsExactly("A", "B", "D", "E");
+        final int[] path = DijkstrasMinWeightPath.computeMinWeightPath(graph,
+                graph.vertex("A").getId(), graph.vertex("B").getId(), workspace, 2, queueType);
+        then(keys(graph, path)).containsExactly("A", "B");
+        then(workspace.distance(graph.vertex("X").getId())).isEqualTo(2); // reached, but never expanded
+        then(workspace.distance(graph.vertex("Y").getId())).isEqualTo(DijkstrasWorkspace.INFINITY);
+        then(workspace.distance(graph.vertex("C").getId())).isEqualTo(DijkstrasWorkspace.INFINITY);
+
+        // the queue left non-empty by the early stop must not affect the next search:
+        final int[] nextPath = DijkstrasMinWeightPath.computeMinWeightPath(graph,
+                graph.vertex("A").getId(), graph.vertex("Z").getId(), workspace, 2, queueType);
+        then(keys(graph, nextPath)).containsExactly("A", "X", "Y", "Z");
+    }
+
+    @Test
+    void bidirectional_search_finds_path_of_same_weight_as_forward_one() {
+        final Random random = new Random(11);
+        final int maxWeight = 5;
+        for (int round = 0; round < 300; round++) {
+            final int numberOfVertices = 2 + random.nextInt(30);
+            final StringBuilder dot = new StringBuilder("digraph g {");
+            for (int v = 0; v < numberOfVertices; v++) {
+                dot.append(" v").append(v).append(';');
+            }
+            for (int e = random.nextInt(3 * numberOfVertices); e > 0; e--) {
+                dot.append(" v").append(random.nextInt(numberOfVertices))
+                        .append(" -> v").append(random.nextInt(numberOfVertices)).append(';');
+            }
+            final GraphBuilder graphBuilder = new GraphBuilder();
+            graphBuilder.build("{\"graph\": \"" + dot.append('}') + "\"}");
+            final Graph graph = graphBuilder.getGraph();
 
-        path = DijkstrasMinWeightPath.computeMinWeightPath(graph, startVertex, exitVertex, (v1, v2) -> {
-            if (v1.getId() == 1 && v2.getId() == 3) {
-                return 10; // heavy edge
+            final DijkstrasWorkspace workspace = new DijkstrasWorkspace(graph.numberOfVertices());
+            for (int v = 0; v < numberOfVertices; v++) {
+                workspace.setWeight(v, random.nextInt(maxWeight + 1));
             }
-            return 1;
-        }, 10);
-        keys = path.stream().map(Vertex::getKey).toList();
-        then(keys).containsExactly("A", "B", "C", "D", "E");
+            final int startId = random.nextInt(numberOfVertices);
+            final int targetId = random.nextInt(numberOfVertices);
+
+            final int[] forwardPath = DijkstrasMinWeightPath.computeMinWeightPath(graph, startId, targetId, workspace,
+                    maxWeight, DijkstrasMinWeightPath.QueueType.BUCKET, DijkstrasMinWeightPath.SearchMode.FORWARD);
+            final int[] bidirectionalPath = DijkstrasMinWeightPath.computeMinWeightPath(graph, startId, targetId, workspace,
+                    maxWeight, DijkstrasMinWeightPath.QueueType.BUCKET, DijkstrasMinWeightPath.SearchMode.BIDIRECTIONAL);
+
+            then(bidirectionalPath[bidirectionalPath.length - 1]).isEqualTo(targetId);
+            then(bidirectionalPath[0]).isEqualTo(forwardPath[0]); // NB: the start, or the target if it is unreachable
+            for (int i = 1; i < bidirectionalPath.length; i++) {
+                then(graph.successors(bidirectionalPath[i - 1])).toIterable().contains(bidirectionalPath[i]);
+            }
+            then(weight(workspace, bidirectionalPath)).isEqualTo(weight(workspace, forwardPath));
+        }
+    }
+
+    @Test
+    void bidirectional_search_requires_bucket_queue() {
+        GraphBuilder graphBuilder = new GraphBuilder();
+        graphBuilder.build("{\"graph\": \"digraph g { A -> B }\"}");
+        final Graph graph = graphBuilder.getGraph();
+
+        thenThrownBy(() -> DijkstrasMinWeightPath.computeMinWeightPath(graph, 0, 1,
+                new DijkstrasWorkspace(2), 1, DijkstrasMinWeightPath.QueueType.TREE_SET,
+                DijkstrasMinWeightPath.SearchMode.BIDIRECTIONAL))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /** Path weight: the weights of all the path vertices except the first one. */
+    private static long weight(DijkstrasWorkspace workspace, int[] path) {
+        long weight = 0;
+        for (int i = 1; i < path.length; i++) {
+            weight += workspace.weight(path[i]);
+        }
+        return weight;
+    }
+
+    private static List<String> keys(Graph graph, int[] path) {
+        return Arrays.stream(path).mapToObj(id -> graph.vertex(id).getKey()).toList();
     }
-}
\ No newline at end of file
+}
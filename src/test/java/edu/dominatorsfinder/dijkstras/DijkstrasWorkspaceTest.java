@@ -0,0 +1,89 @@
+package edu.dominatorsfinder.dijkstras;
+
+import org.junit.jupiter.api.Test;
+
+import static edu.dominatorsfinder.dijkstras.DijkstrasWorkspace.DEFAULT_WEIGHT;
+import static edu.dominatorsfinder.dijkstras.DijkstrasWorkspace.INFINITY;
+import static edu.dominatorsfinder.dijkstras.DijkstrasWorkspace.NO_VERTEX;
+import static org.assertj.core.api.BDDAssertions.then;
+
+class DijkstrasWorkspaceTest {
+
+    @Test
+    void new_search_makes_all_vertices_not_reached() {
+        final DijkstrasWorkspace workspace = new DijkstrasWorkspace(3);
+        then(workspace.distance(0)).isEqualTo(INFINITY);
+        then(workspace.parent(0)).isEqualTo(NO_VERTEX);
+
+        workspace.startNewSearch();
+        workspace.reach(0, 0, NO_VERTEX);
+        workspace.reach(2, 5, 0);
+        then(workspace.distance(2)).isEqualTo(5);
+        then(workspace.parent(2)).isEqualTo(0);
+        then(workspace.distance(1)).isEqualTo(INFINITY);
+
+        workspace.startNewSearch();
+        then(workspace.distance(0)).isEqualTo(INFINITY);
+        then(workspace.distance(2)).isEqualTo(INFINITY);
+        then(workspace.parent(2)).isEqualTo(NO_VERTEX);
+    }
+
+    @Test
+    void stale_stamps_are_cleared_when_epoch_wraps_around() {
+        final DijkstrasWorkspace workspace = new DijkstrasWorkspace(2);
+        workspace.epoch = -1;
+        workspace.reach(1, 7, 0);
+        workspace.stamp[0] = 1; // would become valid after the wrap-around
+
+        workspace.startNewSearch();
+        then(workspace.epoch).isEqualTo(1);
+        then(workspace.distance(0)).isEqualTo(INFINITY);
+        then(workspace.distance(1)).isEqualTo(INFINITY);
+    }
+
+    @Test
+    void reset_restores_changed_weights_only() {
+        final DijkstrasWorkspace workspace = new DijkstrasWorkspace(4);
+        workspace.setWeight(1, 4);
+        workspace.setWeight(3, 4);
+        workspace.markIfHeavy(1);
+        then(workspace.dropWeightExcludingMarked(1)).isFalse();
+        then(workspace.dropWeightExcludingMarked(3)).isTrue();
+        workspace.setWeight(3, 0);
+        then(workspace.weight(1)).isEqualTo(4);
+        then(workspace.weight(3)).isEqualTo(0);
+
+        workspace.resetWeights();
+        for (int id = 0; id < 4; id++) {
+            then(workspace.weight(id)).isEqualTo(DEFAULT_WEIGHT);
+        }
+    }
+
+    @Test
+    void pooled_workspace_is_reused_by_the_same_thread() {
+        final DijkstrasWorkspace workspace = DijkstrasWorkspace.acquire(10);
+        workspace.setWeight(5, 10);
+        workspace.release();
+
+        final DijkstrasWorkspace smaller = DijkstrasWorkspace.acquire(7);
+        try {
+            then(smaller).isSameAs(workspace);
+            then(smaller.weight(5)).isEqualTo(DEFAULT_WEIGHT);
+
+            // nested acquisition must not get the busy workspace:
+            final DijkstrasWorkspace nested = DijkstrasWorkspace.acquire(7);
+            then(nested).isNotSameAs(workspace);
+            nested.release();
+        } finally {
+            smaller.release();
+        }
+
+        final int largerSize = workspace.capacity() + 1;
+        final DijkstrasWorkspace larger = DijkstrasWorkspace.acquire(largerSize);
+        larger.release();
+        then(larger).isNotSameAs(workspace);
+        then(larger.capacity()).isEqualTo(largerSize);
+        then(DijkstrasWorkspace.acquire(largerSize)).isSameAs(larger);
+        larger.release();
+    }
+}
@@ -0,0 +1,13 @@
+package edu.dominatorsfinder.heavyverticesbypass;
+
+import edu.dominatorsfinder.AbstractFinderFactory;
+import edu.dominatorsfinder.AbstractDominatorsFinderNegativeCasesTest;
+import edu.dominatorsfinder.dijkstras.DijkstrasMinWeightPath;
+
+public class BidirectionalHeavyVerticesBypassFinderNegativeTest extends AbstractDominatorsFinderNegativeCasesTest {
+    @Override
+    protected AbstractFinderFactory getFactory() {
+        return new HeavyBypassFinderFactory(DijkstrasMinWeightPath.QueueType.BUCKET,
+                DijkstrasMinWeightPath.SearchMode.BIDIRECTIONAL);
+    }
+}
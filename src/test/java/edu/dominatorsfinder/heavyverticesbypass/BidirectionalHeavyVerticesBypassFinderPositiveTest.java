@@ -0,0 +1,15 @@
+package edu.dominatorsfinder.heavyverticesbypass;
+
+import edu.dominatorsfinder.*;
+import edu.dominatorsfinder.dijkstras.DijkstrasMinWeightPath;
+
+public class BidirectionalHeavyVerticesBypassFinderPositiveTest extends AbstractDominatorsFinderPositiveTest {
+
+    private final AbstractFinderFactory algorithmHelper = new HeavyBypassFinderFactory(DijkstrasMinWeightPath.QueueType.BUCKET,
+            DijkstrasMinWeightPath.SearchMode.BIDIRECTIONAL);
+
+    @Override
+    protected AbstractFinderFactory getFactory() {
+        return algorithmHelper;
+    }
+}
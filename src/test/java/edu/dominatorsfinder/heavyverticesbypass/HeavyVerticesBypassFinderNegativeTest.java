@@ -2,11 +2,10 @@ package edu.dominatorsfinder.heavyverticesbypass;
 
 import edu.dominatorsfinder.AbstractFinderFactory;
 import edu.dominatorsfinder.AbstractDominatorsFinderNegativeCasesTest;
-import edu.dominatorsfinder.dijkstras.DijPayload;
 
-public class HeavyVerticesBypassFinderNegativeTest extends AbstractDominatorsFinderNegativeCasesTest<DijPayload> {
+public class HeavyVerticesBypassFinderNegativeTest extends AbstractDominatorsFinderNegativeCasesTest {
     @Override
-    protected AbstractFinderFactory<DijPayload> getFactory() {
+    protected AbstractFinderFactory getFactory() {
         return new HeavyBypassFinderFactory();
     }
 }
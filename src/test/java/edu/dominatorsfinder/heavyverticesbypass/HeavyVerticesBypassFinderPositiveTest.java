@@ -1,14 +1,13 @@
 package edu.dominatorsfinder.heavyverticesbypass;
 
 import edu.dominatorsfinder.*;
-import edu.dominatorsfinder.dijkstras.DijPayload;
 
-public class HeavyVerticesBypassFinderPositiveTest extends AbstractDominatorsFinderPositiveTest<DijPayload> {
+public class HeavyVerticesBypassFinderPositiveTest extends AbstractDominatorsFinderPositiveTest {
 
-    private final AbstractFinderFactory<DijPayload> algorithmHelper = new HeavyBypassFinderFactory();
+    private final AbstractFinderFactory algorithmHelper = new HeavyBypassFinderFactory();
 
     @Override
-    protected AbstractFinderFactory<DijPayload> getFactory() {
+    protected AbstractFinderFactory getFactory() {
         return algorithmHelper;
     }
 }
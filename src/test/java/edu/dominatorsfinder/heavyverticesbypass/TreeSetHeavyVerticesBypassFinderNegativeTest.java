@@ -0,0 +1,12 @@
+package edu.dominatorsfinder.heavyverticesbypass;
+
+import edu.dominatorsfinder.AbstractFinderFactory;
+import edu.dominatorsfinder.AbstractDominatorsFinderNegativeCasesTest;
+import edu.dominatorsfinder.dijkstras.DijkstrasMinWeightPath;
+
+public class TreeSetHeavyVerticesBypassFinderNegativeTest extends AbstractDominatorsFinderNegativeCasesTest {
+    @Override
+    protected AbstractFinderFactory getFactory() {
+        return new HeavyBypassFinderFactory(DijkstrasMinWeightPath.QueueType.TREE_SET);
+    }
+}
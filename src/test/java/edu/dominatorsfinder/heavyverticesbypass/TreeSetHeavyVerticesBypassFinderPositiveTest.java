@@ -0,0 +1,14 @@
+package edu.dominatorsfinder.heavyverticesbypass;
+
+import edu.dominatorsfinder.*;
+import edu.dominatorsfinder.dijkstras.DijkstrasMinWeightPath;
+
+public class TreeSetHeavyVerticesBypassFinderPositiveTest extends AbstractDominatorsFinderPositiveTest {
+
+    private final AbstractFinderFactory algorithmHelper = new HeavyBypassFinderFactory(DijkstrasMinWeightPath.QueueType.TREE_SET);
+
+    @Override
+    protected AbstractFinderFactory getFactory() {
+        return algorithmHelper;
+    }
+}
@@ -0,0 +1,13 @@
+package edu.dominatorsfinder.lengauertarjan;
+
+import edu.dominatorsfinder.*;
+
+public class LengauerTarjanFinderPositiveTest extends AbstractDominatorsFinderPositiveTest {
+
+    private final AbstractFinderFactory algorithmHelper = new LengauerTarjanFinderFactory();
+
+    @Override
+    protected AbstractFinderFactory getFactory() {
+        return algorithmHelper;
+    }
+}
@@ -0,0 +1,11 @@
+package edu.dominatorsfinder.lengauertarjan;
+
+import edu.dominatorsfinder.AbstractFinderFactory;
+import edu.dominatorsfinder.AbstractDominatorsFinderNegativeCasesTest;
+
+public class SimpleLengauerTarjanFinderNegativeTest extends AbstractDominatorsFinderNegativeCasesTest {
+    @Override
+    protected AbstractFinderFactory getFactory() {
+        return new LengauerTarjanFinderFactory(LengauerTarjanDominatorsFinder.LinkEval.SIMPLE);
+    }
+}
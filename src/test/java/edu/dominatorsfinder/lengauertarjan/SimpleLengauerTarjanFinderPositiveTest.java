@@ -0,0 +1,13 @@
+package edu.dominatorsfinder.lengauertarjan;
+
+import edu.dominatorsfinder.*;
+
+public class SimpleLengauerTarjanFinderPositiveTest extends AbstractDominatorsFinderPositiveTest {
+
+    private final AbstractFinderFactory algorithmHelper = new LengauerTarjanFinderFactory(LengauerTarjanDominatorsFinder.LinkEval.SIMPLE);
+
+    @Override
+    protected AbstractFinderFactory getFactory() {
+        return algorithmHelper;
+    }
+}
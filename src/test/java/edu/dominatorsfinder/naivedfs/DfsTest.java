@@ -12,8 +12,7 @@ public class DfsTest {
 
     @Test
     void example_from_task_description() {
-        GraphBuilder<DfsPayload> graphBuilder = new GraphBuilder<>();
-        graphBuilder.withPayloadFactoryFunction(DfsPayload::new);
+        GraphBuilder graphBuilder = new GraphBuilder();
         graphBuilder.build("""
                 {"e2": "7",
                  "h": "2",
@@ -27,10 +26,10 @@ public class DfsTest {
                    }"
                 }
                 """);
-        final Graph<DfsPayload> graph = graphBuilder.getGraph();
+        final Graph graph = graphBuilder.getGraph();
 
-        final Vertex<DfsPayload> startVertex = graphBuilder.startVertex();
-        final Vertex<DfsPayload> exitVertex = graphBuilder.exitVertex();
+        final Vertex startVertex = graphBuilder.startVertex();
+        final Vertex exitVertex = graphBuilder.exitVertex();
 
         graph.vertexStream().forEachOrdered(System.out::println);
 
@@ -44,25 +43,49 @@ public class DfsTest {
         NaiveDfsDominatorsFinder finder = new NaiveDfsDominatorsFinder(graph, startVertex, exitVertex);
         List<String> dominatorKeys = asKeys(finder.computeDominators());
         then(dominatorKeys).containsExactly("5", "7");
+        final DfsContext context = finder.getContext();
 
         // Start/End times:
-        then(graph.vertex(0).getPayload().getDfsStartTime()).isEqualTo(-1);
-        then(graph.vertex(0).getPayload().getDfsFinishTime()).isEqualTo(-1);
-        then(graph.vertex(1).getPayload().getDfsStartTime()).isEqualTo(1);
-        then(graph.vertex(1).getPayload().getDfsFinishTime()).isEqualTo(10);
-        then(graph.vertex(2).getPayload().getDfsStartTime()).isEqualTo(2);
-        then(graph.vertex(2).getPayload().getDfsFinishTime()).isEqualTo(8);
-        then(graph.vertex(3).getPayload().getDfsStartTime()).isEqualTo(3);
-        then(graph.vertex(3).getPayload().getDfsFinishTime()).isEqualTo(7);
-        then(graph.vertex(4).getPayload().getDfsStartTime()).isEqualTo(5);
-        then(graph.vertex(4).getPayload().getDfsFinishTime()).isEqualTo(6);
+        then(context.payload(0).getDfsStartTime()).isEqualTo(-1);
+        then(context.payload(0).getDfsFinishTime()).isEqualTo(-1);
+        then(context.payload(1).getDfsStartTime()).isEqualTo(1);
+        then(context.payload(1).getDfsFinishTime()).isEqualTo(10);
+        then(context.payload(2).getDfsStartTime()).isEqualTo(2);
+        then(context.payload(2).getDfsFinishTime()).isEqualTo(8);
+        then(context.payload(3).getDfsStartTime()).isEqualTo(3);
+        then(context.payload(3).getDfsFinishTime()).isEqualTo(7);
+        then(context.payload(4).getDfsStartTime()).isEqualTo(5);
+        then(context.payload(4).getDfsFinishTime()).isEqualTo(6);
 
         // Edges color:
-        then(graph.vertex(1).getPayload().edgeKind(2)).isEqualTo(EdgeKind.TREE);
-        then(graph.vertex(1).getPayload().edgeKind(3)).isEqualTo(EdgeKind.FORWARD);
-        then(graph.vertex(2).getPayload().edgeKind(3)).isEqualTo(EdgeKind.TREE);
-        then(graph.vertex(3).getPayload().edgeKind(4)).isEqualTo(EdgeKind.TREE);
-        then(graph.vertex(3).getPayload().edgeKind(1)).isEqualTo(EdgeKind.BACKWARD);
+        then(context.payload(1).edgeKind(2)).isEqualTo(EdgeKind.TREE);
+        then(context.payload(1).edgeKind(3)).isEqualTo(EdgeKind.FORWARD);
+        then(context.payload(2).edgeKind(3)).isEqualTo(EdgeKind.TREE);
+        then(context.payload(3).edgeKind(4)).isEqualTo(EdgeKind.TREE);
+        then(context.payload(3).edgeKind(1)).isEqualTo(EdgeKind.BACKWARD);
     }
 
+    @Test
+    void deep_chain_does_not_overflow_the_stack() {
+        final int length = 200_000;
+        StringBuilder dot = new StringBuilder("digraph g {");
+        for (int i = 1; i < length; i++) {
+            dot.append(" v").append(i - 1).append(" -> v").append(i).append(';');
+        }
+        dot.append('}');
+
+        GraphBuilder graphBuilder = new NaiveDfsFinderFactory().createGraphBuilder();
+        graphBuilder.build("{\"h\": \"v0\", \"e2\": \"v" + (length - 1) + "\", \"graph\": \"" + dot + "\"}");
+        final Graph graph = graphBuilder.getGraph();
+
+        final DfsContext context = new DfsContext(graph);
+        int time = new DepthFirstSearch(context, (t, u, v) -> true, (t, u, v) -> true).dfsFrom(graphBuilder.startVertex());
+
+        then(time).isEqualTo(2 * length);
+        then(context.payload(graphBuilder.exitVertex()).getDfsStartTime()).isEqualTo(length);
+        then(context.payload(graphBuilder.exitVertex()).getDfsFinishTime()).isEqualTo(length + 1);
+
+        NaiveDfsDominatorsFinder finder = new NaiveDfsDominatorsFinder(graph, graphBuilder.startVertex(), graphBuilder.exitVertex());
+        then(finder.computeDominators()).hasSize(length - 1);
+    }
 }
@@ -3,10 +3,10 @@ package edu.dominatorsfinder.naivedfs;
 import edu.dominatorsfinder.AbstractFinderFactory;
 import edu.dominatorsfinder.AbstractDominatorsFinderNegativeCasesTest;
 
-public class NaiveDfsDominatorsFinderNegativeTest extends AbstractDominatorsFinderNegativeCasesTest<DfsPayload> {
+public class NaiveDfsDominatorsFinderNegativeTest extends AbstractDominatorsFinderNegativeCasesTest {
 
     @Override
-    protected AbstractFinderFactory<DfsPayload> getFactory() {
+    protected AbstractFinderFactory getFactory() {
         return new NaiveDfsFinderFactory();
     }
 }
@@ -8,12 +8,12 @@ import java.util.List;
 
 import static org.assertj.core.api.BDDAssertions.thenThrownBy;
 
-public class NaiveDfsDominatorsFinderPositiveTest extends AbstractDominatorsFinderPositiveTest<DfsPayload> {
+public class NaiveDfsDominatorsFinderPositiveTest extends AbstractDominatorsFinderPositiveTest {
 
-    private final AbstractFinderFactory<DfsPayload> algorithmHelper = new NaiveDfsFinderFactory();
+    private final AbstractFinderFactory algorithmHelper = new NaiveDfsFinderFactory();
 
     @Override
-    protected AbstractFinderFactory<DfsPayload> getFactory() {
+    protected AbstractFinderFactory getFactory() {
         return algorithmHelper;
     }
 
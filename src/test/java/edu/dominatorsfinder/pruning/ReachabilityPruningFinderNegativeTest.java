@@ -0,0 +1,12 @@
+package edu.dominatorsfinder.pruning;
+
+import edu.dominatorsfinder.AbstractFinderFactory;
+import edu.dominatorsfinder.AbstractDominatorsFinderNegativeCasesTest;
+import edu.dominatorsfinder.seminca.SemiNcaFinderFactory;
+
+public class ReachabilityPruningFinderNegativeTest extends AbstractDominatorsFinderNegativeCasesTest {
+    @Override
+    protected AbstractFinderFactory getFactory() {
+        return new ReachabilityPruningFinderFactory(new SemiNcaFinderFactory());
+    }
+}
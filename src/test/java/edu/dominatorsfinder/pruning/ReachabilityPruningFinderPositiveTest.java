@@ -0,0 +1,14 @@
+package edu.dominatorsfinder.pruning;
+
+import edu.dominatorsfinder.*;
+import edu.dominatorsfinder.heavyverticesbypass.HeavyBypassFinderFactory;
+
+public class ReachabilityPruningFinderPositiveTest extends AbstractDominatorsFinderPositiveTest {
+
+    private final AbstractFinderFactory algorithmHelper = new ReachabilityPruningFinderFactory(new HeavyBypassFinderFactory());
+
+    @Override
+    protected AbstractFinderFactory getFactory() {
+        return algorithmHelper;
+    }
+}
@@ -0,0 +1,49 @@
+package edu.dominatorsfinder.pruning;
+
+import edu.dominatorsfinder.Graph;
+import edu.dominatorsfinder.GraphBuilder;
+import edu.dominatorsfinder.Vertex;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+class ReachabilityPruningTest {
+
+    private static Graph buildGraph(String dot) {
+        GraphBuilder graphBuilder = new GraphBuilder();
+        graphBuilder.build("{\"graph\": \"" + dot + "\"}");
+        return graphBuilder.getGraph();
+    }
+
+    @Test
+    void keeps_only_vertices_on_paths_from_start_to_exit() {
+        // A -> ... -> E with dead ends D and F -> G, a loop B <-> C, and X, Y not reachable from A:
+        final Graph graph = buildGraph("digraph g { A -> B; B -> C; C -> B; C -> E; A -> D; B -> F; F -> G; X -> A; Y -> E }");
+
+        final int[] relevant = ReachabilityPruning.relevantVertices(graph, graph.vertex("A").getId(), graph.vertex("E").getId());
+        then(keys(graph, relevant)).containsExactly("A", "B", "C", "E");
+
+        final Graph subgraph = graph.inducedSubgraph(relevant);
+        then(subgraph.vertexStream().map(Vertex::getKey)).containsExactly("A", "B", "C", "E");
+        then(subgraph.numberOfEdges()).isEqualTo(4);
+        then(subgraph.outgoingVertices(subgraph.vertex("B"))).extracting(Vertex::getKey).containsExactly("C");
+        then(subgraph.outgoingVertices(subgraph.vertex("C"))).extracting(Vertex::getKey).containsExactly("B", "E");
+        then(subgraph.outgoingVertices(subgraph.vertex("E"))).isEmpty();
+        then(subgraph.inDegree(subgraph.vertex("A").getId())).isZero();
+    }
+
+    @Test
+    void nothing_is_relevant_if_exit_is_unreachable() {
+        final Graph graph = buildGraph("digraph g { A -> B; C -> A }");
+        then(ReachabilityPruning.relevantVertices(graph, graph.vertex("A").getId(), graph.vertex("C").getId())).isEmpty();
+        then(ReachabilityPruning.relevantVertices(graph, graph.vertex("A").getId(), graph.vertex("A").getId()))
+                .containsExactly(graph.vertex("A").getId());
+    }
+
+    private static List<String> keys(Graph graph, int[] ids) {
+        return Arrays.stream(ids).mapToObj(id -> graph.vertex(id).getKey()).toList();
+    }
+}
@@ -0,0 +1,36 @@
+package edu.dominatorsfinder.seminca;
+
+import edu.dominatorsfinder.Graph;
+import edu.dominatorsfinder.GraphBuilder;
+import edu.dominatorsfinder.Vertex;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+class SemiNcaDominatorsFinderTest {
+
+    @Test
+    void deep_chain_with_back_edges_does_not_overflow_the_stack() {
+        final int length = 200_000;
+        StringBuilder dot = new StringBuilder("digraph g {");
+        for (int i = 1; i < length; i++) {
+            dot.append(" v").append(i - 1).append(" -> v").append(i).append(';');
+            dot.append(" v").append(i).append(" -> v").append(i - 1).append(';');
+        }
+        dot.append('}');
+
+        SemiNcaFinderFactory factory = new SemiNcaFinderFactory();
+        GraphBuilder graphBuilder = factory.createGraphBuilder();
+        graphBuilder.build("{\"h\": \"v0\", \"e2\": \"v" + (length - 1) + "\", \"graph\": \"" + dot + "\"}");
+        final Graph graph = graphBuilder.getGraph();
+
+        List<Vertex> dominators = factory.createFinder(graph, graphBuilder.startVertex(), graphBuilder.exitVertex())
+                .computeDominators();
+
+        then(dominators).hasSize(length - 1);
+        then(dominators.get(0).getKey()).isEqualTo("v1");
+        then(dominators.get(length - 2).getKey()).isEqualTo("v" + (length - 1));
+    }
+}
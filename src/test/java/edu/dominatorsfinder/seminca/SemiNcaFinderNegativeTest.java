@@ -0,0 +1,11 @@
+package edu.dominatorsfinder.seminca;
+
+import edu.dominatorsfinder.AbstractFinderFactory;
+import edu.dominatorsfinder.AbstractDominatorsFinderNegativeCasesTest;
+
+public class SemiNcaFinderNegativeTest extends AbstractDominatorsFinderNegativeCasesTest {
+    @Override
+    protected AbstractFinderFactory getFactory() {
+        return new SemiNcaFinderFactory();
+    }
+}
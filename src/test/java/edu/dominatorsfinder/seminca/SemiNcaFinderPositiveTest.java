@@ -0,0 +1,13 @@
+package edu.dominatorsfinder.seminca;
+
+import edu.dominatorsfinder.*;
+
+public class SemiNcaFinderPositiveTest extends AbstractDominatorsFinderPositiveTest {
+
+    private final AbstractFinderFactory algorithmHelper = new SemiNcaFinderFactory();
+
+    @Override
+    protected AbstractFinderFactory getFactory() {
+        return algorithmHelper;
+    }
+}
@@ -0,0 +1,81 @@
+package edu.dominatorsfinder.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.assertj.core.api.BDDAssertions.thenExceptionOfType;
+
+class ComputationExecutorTest {
+
+    @Test
+    void computes_on_computation_threads_and_rethrows_unchecked_exceptions() {
+        try (ComputationExecutor executor = new ComputationExecutor(2, 0, 0, 1);
+             ComputationExecutor.Permit permit = executor.admit()) {
+            then(permit.compute(() -> Thread.currentThread().getName())).startsWith("dominators-finder-");
+            thenExceptionOfType(IllegalArgumentException.class)
+                    .isThrownBy(() -> permit.compute(() -> {
+                        throw new IllegalArgumentException("bad input");
+                    }))
+                    .withMessage("bad input");
+        }
+    }
+
+    @Test
+    void rejects_requests_over_the_reading_limit_on_admission() {
+        try (ComputationExecutor executor = new ComputationExecutor(1, 2, 1, 1)) {
+            final ComputationExecutor.Permit first = executor.admit();
+            final ComputationExecutor.Permit second = executor.admit();
+            thenExceptionOfType(ComputationExecutor.OverloadedException.class).isThrownBy(executor::admit)
+                    .withMessageContaining("reading their input (2)");
+
+            // NB: the computation trades the reading permit for the one in flight:
+            then(first.compute(() -> 1)).isEqualTo(1);
+            final ComputationExecutor.Permit third = executor.admit();
+            thenExceptionOfType(ComputationExecutor.OverloadedException.class).isThrownBy(executor::admit);
+
+            // NB: closing twice releases once:
+            second.close();
+            second.close();
+            executor.admit().close();
+            final ComputationExecutor.Permit fourth = executor.admit();
+            thenExceptionOfType(ComputationExecutor.OverloadedException.class).isThrownBy(executor::admit);
+
+            first.close();
+            third.close();
+            fourth.close();
+            executor.admit().close();
+        }
+    }
+
+    @Test
+    void rejects_requests_over_the_in_flight_limit_at_once() throws Exception {
+        try (ComputationExecutor executor = new ComputationExecutor(1, 0, 1, 3)) {
+            then(executor.getRetryAfterSeconds()).isEqualTo(3);
+            final CountDownLatch computing = new CountDownLatch(1);
+            final CountDownLatch release = new CountDownLatch(1);
+            final ComputationExecutor.Permit first = executor.admit();
+            final CompletableFuture<Boolean> blocked = CompletableFuture.supplyAsync(() -> first.compute(() -> {
+                computing.countDown();
+                return release.await(1, TimeUnit.MINUTES);
+            }));
+            then(computing.await(1, TimeUnit.MINUTES)).isTrue();
+
+            try (ComputationExecutor.Permit second = executor.admit()) {
+                thenExceptionOfType(ComputationExecutor.OverloadedException.class)
+                        .isThrownBy(() -> second.compute(() -> 2))
+                        .withMessageContaining("in flight (1)");
+            }
+
+            release.countDown();
+            then(blocked.get(1, TimeUnit.MINUTES)).isTrue();
+            first.close();
+            try (ComputationExecutor.Permit third = executor.admit()) {
+                then(third.compute(() -> 3)).isEqualTo(3);
+            }
+        }
+    }
+}
@@ -5,9 +5,16 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
 import static org.assertj.core.api.BDDAssertions.then;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
@@ -19,6 +26,12 @@ public class HttpRequestTest {
     @Autowired
     private TestRestTemplate restTemplate;
 
+    @Autowired
+    private ComputationExecutor computationExecutor;
+
+    @Autowired
+    private GraphDominatorsFinderRestController controller;
+
     @Test
     public void should_return_welcome_message_when_doing_get_on_root_url() {
         ResponseEntity<String> entity = restTemplate.getForEntity("http://localhost:" + port + "/", String.class);
@@ -67,4 +80,103 @@ public class HttpRequestTest {
         then(entity.getStatusCode()).isSameAs(HttpStatus.BAD_REQUEST);
         then(entity.getBody()).contains("java.lang.IllegalArgumentException: Exit vertex [7] appears to be unreachable from the start node [2]");
     }
-}
\ No newline at end of file
+
+    @Test
+    public void should_answer_post_dominance_queries() {
+        ResponseEntity<String> entity = restTemplate.postForEntity("http://localhost:" + port + "/server/post-dominance",
+                """
+                {"e2": "7",
+                 "pairs": [["5", "2"], ["3", "2"], ["3", "5"]],
+                 "graph": " digraph graphname{
+                    1->2
+                    2->3
+                    2->5
+                    5->2
+                    3->5
+                    5->7
+                   }"
+                }
+                """ , String.class
+        );
+        then(entity.getStatusCode()).isSameAs(HttpStatus.OK);
+        then(entity.getBody()).isEqualTo("[{\"u\":\"5\",\"v\":\"2\",\"postDominates\":true,\"nearestCommonPostDominator\":\"5\"}," +
+                "{\"u\":\"3\",\"v\":\"2\",\"postDominates\":false,\"nearestCommonPostDominator\":\"5\"}," +
+                "{\"u\":\"3\",\"v\":\"5\",\"postDominates\":false,\"nearestCommonPostDominator\":\"5\"}]\n");
+    }
+
+    @Test
+    public void should_find_dominators_of_all_start_vertices_in_one_batch() {
+        ResponseEntity<String> entity = restTemplate.postForEntity("http://localhost:" + port + "/server/batch",
+                """
+                {"e2": "7",
+                 "hs": "all",
+                 "graph": " digraph graphname{
+                    1->2
+                    2->3
+                    2->5
+                    5->2
+                    3->5
+                    5->7
+                    7->8
+                   }"
+                }
+                """ , String.class
+        );
+        then(entity.getStatusCode()).isSameAs(HttpStatus.OK);
+        then(entity.getBody()).isEqualTo("{\"1\":[\"2\",\"5\",\"7\"],\"2\":[\"5\",\"7\"],\"3\":[\"5\",\"7\"]," +
+                "\"5\":[\"7\"],\"7\":[],\"8\":null}");
+    }
+
+    @Test
+    public void should_reuse_cached_tree_for_reformatted_graph() {
+        final String url = "http://localhost:" + port + "/server";
+        // NB: the cache is shared by all the tests in the context, so only the increment is checked:
+        final long hitCount = cacheHitCount();
+        ResponseEntity<String> entity = restTemplate.postForEntity(url,
+                "{\"e2\": \"Y\", \"h\": \"W\", \"graph\": \"digraph g { W -> X; X -> Y; W -> Y }\"}", String.class);
+        then(entity.getBody()).isEqualTo("{Y}\n");
+
+        entity = restTemplate.postForEntity(url,
+                "{\"e2\": \"Y\", \"h\": \"X\", \"graph\": \"digraph h {\n W -> Y\n X -> Y\n W -> X\n}\"}", String.class);
+        then(entity.getBody()).isEqualTo("{Y}\n");
+
+        then(cacheHitCount()).isEqualTo(hitCount + 1);
+    }
+
+    @Test
+    public void should_reject_requests_over_the_limit_before_reading_the_body() {
+        final List<ComputationExecutor.Permit> permits = new ArrayList<>();
+        try {
+            // NB: take all the reading permits, as if many requests were being uploaded:
+            while (true) {
+                try {
+                    permits.add(computationExecutor.admit());
+                } catch (ComputationExecutor.OverloadedException e) {
+                    break;
+                }
+            }
+
+            final ResponseEntity<String> entity = restTemplate.postForEntity("http://localhost:" + port + "/server",
+                    "{\"e2\": \"Y\", \"h\": \"W\", \"graph\": \"digraph g { W -> Y }\"}", String.class);
+            then(entity.getStatusCode()).isSameAs(HttpStatus.TOO_MANY_REQUESTS);
+            then(entity.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+
+            final InputStream unreadBody = new InputStream() {
+                @Override
+                public int read() {
+                    throw new AssertionError("The body of a rejected request must not be read.");
+                }
+            };
+            then(controller.findDominators(unreadBody).getStatusCode()).isSameAs(HttpStatus.TOO_MANY_REQUESTS);
+        } finally {
+            permits.forEach(ComputationExecutor.Permit::close);
+        }
+    }
+
+    private long cacheHitCount() {
+        final String stats = restTemplate.getForEntity("http://localhost:" + port + "/server/cache-stats", String.class).getBody();
+        final Matcher matcher = Pattern.compile("\\bhitCount=(\\d+)").matcher(stats);
+        then(matcher.find()).as(stats).isTrue();
+        return Long.parseLong(matcher.group(1));
+    }
+}
@@ -0,0 +1,11 @@
+package edu.dominatorsfinder.singlepair;
+
+import edu.dominatorsfinder.AbstractFinderFactory;
+import edu.dominatorsfinder.AbstractDominatorsFinderNegativeCasesTest;
+
+public class SinglePairFinderNegativeTest extends AbstractDominatorsFinderNegativeCasesTest {
+    @Override
+    protected AbstractFinderFactory getFactory() {
+        return new SinglePairFinderFactory();
+    }
+}
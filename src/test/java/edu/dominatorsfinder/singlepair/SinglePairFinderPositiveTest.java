@@ -0,0 +1,13 @@
+package edu.dominatorsfinder.singlepair;
+
+import edu.dominatorsfinder.*;
+
+public class SinglePairFinderPositiveTest extends AbstractDominatorsFinderPositiveTest {
+
+    private final AbstractFinderFactory algorithmHelper = new SinglePairFinderFactory();
+
+    @Override
+    protected AbstractFinderFactory getFactory() {
+        return algorithmHelper;
+    }
+}